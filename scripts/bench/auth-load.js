@@ -0,0 +1,102 @@
+// Auth path load test: login, authenticated read, refresh and logout per iteration.
+//
+// Run the same script against the servlet stack on platform threads and on virtual threads,
+// on the same hardware and database, e.g.
+//   VIRTUAL_THREADS_ENABLED=false ./mvnw spring-boot:run   then   k6 run scripts/bench/auth-load.js
+//   VIRTUAL_THREADS_ENABLED=true  ./mvnw spring-boot:run   then   k6 run scripts/bench/auth-load.js
+// and compare http_req_duration percentiles, iterations/s and failed requests. Watch
+// db.connections.waiting, jvm.threads.virtual.pinned and hikaricp.connections.pending alongside.
+//
+// Options (k6 -e): BASE_URL (default http://localhost:8080), USERS (accounts to create, default 200),
+// VUS (peak concurrent clients, default 2000), DURATION (hold time at peak, default 2m).
+//
+// Every client sends its own X-Forwarded-For so the per-IP rate limit does not cap the test.
+// Use a scratch environment only.
+
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERS = parseInt(__ENV.USERS || '200');
+const VUS = parseInt(__ENV.VUS || '2000');
+const DURATION = __ENV.DURATION || '2m';
+const PASSWORD = 'LoadTest#Passw0rd';
+
+export const options = {
+    setupTimeout: '10m',
+    scenarios: {
+        auth: {
+            executor: 'ramping-vus',
+            stages: [
+                { duration: '30s', target: VUS },
+                { duration: DURATION, target: VUS },
+                { duration: '15s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        'http_req_duration{name:login}': ['p(99)<2000'],
+        'http_req_duration{name:me}': ['p(99)<200'],
+    },
+};
+
+function headers(token, client) {
+    const result = { 'Content-Type': 'application/json', 'X-Forwarded-For': client };
+    if (token) {
+        result.Authorization = `Bearer ${token}`;
+    }
+    return result;
+}
+
+function clientAddress(n) {
+    return `10.${(n >> 16) & 255}.${(n >> 8) & 255}.${n & 255}`;
+}
+
+export function setup() {
+    const run = Date.now().toString(36);
+    const usernames = [];
+    for (let i = 0; i < USERS; i++) {
+        const username = `load_${run}_${i}`;
+        const res = http.post(`${BASE_URL}/api/auth/register`, JSON.stringify({
+            username: username,
+            email: `${username}@load.test`,
+            password: PASSWORD,
+            firstName: 'Load',
+            lastName: 'Test',
+        }), { headers: headers(null, clientAddress(i)) });
+        check(res, { registered: (r) => r.status === 201 });
+        usernames.push(username);
+    }
+    return { usernames };
+}
+
+export default function (data) {
+    const client = clientAddress(USERS + __VU * 1000 + (__ITER % 1000));
+    const username = data.usernames[(__VU + __ITER) % data.usernames.length];
+
+    const login = http.post(`${BASE_URL}/api/auth/login`,
+        JSON.stringify({ username: username, password: PASSWORD }),
+        { headers: headers(null, client), tags: { name: 'login' } });
+    if (!check(login, { 'login 200': (r) => r.status === 200 })) {
+        return;
+    }
+    const tokens = login.json();
+
+    const me = http.get(`${BASE_URL}/api/users/me`,
+        { headers: headers(tokens.token, client), tags: { name: 'me' } });
+    check(me, { 'me 200': (r) => r.status === 200 });
+
+    const refresh = http.post(`${BASE_URL}/api/auth/refresh`,
+        JSON.stringify({ refreshToken: tokens.refreshToken }),
+        { headers: headers(null, client), tags: { name: 'refresh' } });
+    if (!check(refresh, { 'refresh 200': (r) => r.status === 200 })) {
+        return;
+    }
+    const rotated = refresh.json();
+
+    const logout = http.post(`${BASE_URL}/api/auth/logout`,
+        JSON.stringify({ refreshToken: rotated.refreshToken }),
+        { headers: headers(rotated.token, client), tags: { name: 'logout' } });
+    check(logout, { 'logout 204': (r) => r.status === 204 });
+}
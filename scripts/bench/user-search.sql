@@ -0,0 +1,48 @@
+-- User search benchmark: substring LIKE with and without the trigram indexes (V11).
+--
+-- Run against a scratch database migrated by the application, e.g.
+--   psql -v rows=1000000 -f scripts/bench/user-search.sql
+--   psql -v rows=10000000 -f scripts/bench/user-search.sql
+-- Compare "Execution Time" of the two plans; the first forces a sequential scan.
+
+\if :{?rows}
+\else
+  \set rows 1000000
+\endif
+
+\timing on
+
+-- Seed synthetic users (skipped rows are left in place between runs)
+INSERT INTO users (id, username, email, password, first_name, last_name, created_at, updated_at)
+SELECT gen_random_uuid(),
+       'bench_' || md5(i::text),
+       'bench_' || i || '@' || (ARRAY['example.com', 'corp.test', 'mail.test'])[1 + i % 3],
+       'x', 'Bench', 'User',
+       now() - (i || ' seconds')::interval,
+       now()
+FROM generate_series(1, :rows) AS s(i)
+ON CONFLICT DO NOTHING;
+
+ANALYZE users;
+
+-- Baseline: what the old LOWER(...) LIKE '%x%' query costs without index support
+BEGIN;
+SET LOCAL enable_bitmapscan = off;
+SET LOCAL enable_indexscan = off;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM users u
+WHERE lower(u.username) LIKE '%a1b2%' OR lower(u.email) LIKE '%a1b2%'
+ORDER BY u.created_at DESC
+LIMIT 20;
+ROLLBACK;
+
+-- Trigram path as issued by UserRepository.searchUserIds
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT u.id FROM users u
+WHERE (lower(u.username) LIKE '%a1b2%' ESCAPE '!' OR lower(u.email) LIKE '%a1b2%' ESCAPE '!')
+  AND u.deleted_at IS NULL
+ORDER BY greatest(similarity(lower(u.username), 'a1b2'), similarity(lower(u.email), 'a1b2')) DESC,
+         u.created_at DESC, u.id DESC
+LIMIT 20;
+
+-- Cleanup: DELETE FROM users WHERE username LIKE 'bench!_%' ESCAPE '!';
@@ -14,6 +14,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
  * - Role-based access control (RBAC)
  * - Automatic entity auditing
  * - PostgreSQL database with Flyway migrations
+ * - Scheduled maintenance and background jobs off the request path
  * - RESTful API with OpenAPI documentation
  * - Comprehensive testing (unit, integration, and API tests)
  *
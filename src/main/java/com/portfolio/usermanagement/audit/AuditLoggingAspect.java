@@ -72,7 +72,8 @@ public class AuditLoggingAspect {
      * Log user updates.
      */
     @AfterReturning(
-        pointcut = "execution(* com.portfolio.usermanagement.service.UserService.updateUser(..))",
+        pointcut = "execution(* com.portfolio.usermanagement.service.UserService.updateUser(..)) || " +
+                   "execution(* com.portfolio.usermanagement.service.UserService.patchUser(..))",
         returning = "result"
     )
     public void logUserUpdate(JoinPoint joinPoint, Object result) {
@@ -11,10 +11,10 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 import java.util.Set;
-import java.util.UUID;
 
 /**
  * Secure admin initialization component.
@@ -46,7 +46,12 @@ public class AdminInitializer implements CommandLineRunner {
     @Value("${admin.email:#{null}}")
     private String adminEmail;
 
+    /**
+     * Runs in one transaction so the admin role is a managed entity of the same persistence
+     * context the new user is persisted in.
+     */
     @Override
+    @Transactional
     public void run(String... args) {
         // Only create admin if explicitly configured and doesn't exist
         if (adminUsername == null || adminPassword == null) {
@@ -55,7 +60,8 @@ public class AdminInitializer implements CommandLineRunner {
             return;
         }
 
-        if (userRepository.existsByUsername(adminUsername)) {
+        // A soft-deleted admin still holds the username until it is purged
+        if (userRepository.existsByUsernameIncludingDeleted(adminUsername)) {
             logger.info("Admin user already exists - skipping initialization");
             return;
         }
@@ -68,13 +74,12 @@ public class AdminInitializer implements CommandLineRunner {
 
         try {
             Role adminRole = roleRepository.findByName(Role.RoleName.ROLE_ADMIN)
-                    .orElseThrow(() -> new RuntimeException("ROLE_ADMIN not found in database"));
+                    .orElseThrow(() -> new IllegalStateException("Role ROLE_ADMIN is missing"));
 
             Set<Role> roles = new HashSet<>();
             roles.add(adminRole);
 
             User admin = User.builder()
-                    .id(UUID.randomUUID())
                     .username(adminUsername)
                     .email(adminEmail != null ? adminEmail : adminUsername + "@system.local")
                     .password(passwordEncoder.encode(adminPassword))
@@ -1,5 +1,6 @@
 package com.portfolio.usermanagement.config;
 
+import com.portfolio.usermanagement.security.BoundedPasswordEncoder;
 import com.portfolio.usermanagement.security.jwt.AuthTokenFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,7 +16,6 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
@@ -24,6 +24,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -44,6 +45,15 @@ public class SecurityConfig {
     @Value("${app.security.allowed-origins}")
     private String allowedOrigins;
 
+    @Value("${app.security.password.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${app.security.password.hash-queue:256}")
+    private int hashQueue;
+
+    @Value("${app.security.password.hash-timeout-ms:10000}")
+    private long hashTimeoutMs;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -63,6 +73,7 @@ public class SecurityConfig {
             )
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**").permitAll()
+                .requestMatchers("/.well-known/jwks.json").permitAll()
                 .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
                 .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/swagger-ui/**", "/api-docs/**", "/swagger-ui.html").permitAll()
@@ -90,9 +101,15 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    /**
+     * BCrypt with at most {@code hash-threads} hashes at a time (0 = number of CPUs), at most
+     * {@code hash-queue} waiting and a wait of at most {@code hash-timeout-ms}.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public BoundedPasswordEncoder passwordEncoder() {
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(12), threads, hashQueue,
+                Duration.ofMillis(hashTimeoutMs));
     }
 
     @Bean
@@ -0,0 +1,49 @@
+package com.portfolio.usermanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Settings that apply when {@code spring.threads.virtual.enabled} is true, in which case
+ * Spring Boot already runs Tomcat requests, {@code @Async} methods and scheduled tasks on
+ * virtual threads.
+ * Guards the Hikari pool with {@link ConnectionPermitDataSource}, sized to the pool.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionPermitPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return new ConnectionPermitDataSource(hikari, hikari.getMaximumPoolSize(),
+                            Duration.ofMillis(hikari.getConnectionTimeout()));
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder connectionPermitMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConnectionPermitDataSource permits) {
+                Gauge.builder("db.connections.waiting", permits, ConnectionPermitDataSource::getWaiting)
+                        .description("Threads waiting for a connection permit")
+                        .register(registry);
+            }
+        };
+    }
+}
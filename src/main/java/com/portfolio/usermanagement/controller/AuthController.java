@@ -1,10 +1,14 @@
 package com.portfolio.usermanagement.controller;
 
+import com.portfolio.usermanagement.dto.request.IntrospectRequest;
 import com.portfolio.usermanagement.dto.request.LoginRequest;
 import com.portfolio.usermanagement.dto.request.LogoutRequest;
 import com.portfolio.usermanagement.dto.request.RefreshTokenRequest;
 import com.portfolio.usermanagement.dto.request.RegisterRequest;
 import com.portfolio.usermanagement.dto.response.AuthResponse;
+import com.portfolio.usermanagement.dto.response.IntrospectResponse;
+import com.portfolio.usermanagement.exception.UnauthorizedException;
+import com.portfolio.usermanagement.security.TokenIntrospectionService;
 import com.portfolio.usermanagement.service.impl.AuthServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -12,6 +16,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
@@ -25,6 +30,9 @@ public class AuthController {
     @Autowired
     private AuthServiceImpl authService;
 
+    @Autowired
+    private TokenIntrospectionService tokenIntrospectionService;
+
     @PostMapping("/register")
     @Operation(summary = "Register new user", description = "Create a new user account and return access token + refresh token")
     public ResponseEntity<AuthResponse> register(
@@ -73,4 +81,21 @@ public class AuthController {
         authService.logout(request, accessToken);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/introspect")
+    @Operation(
+        summary = "Introspect access tokens",
+        description = "RFC 7662-style check of a batch of access tokens for trusted services, authenticated with the " +
+                "X-Introspection-Key header. Returns active, sub, roles and exp per token, in request order."
+    )
+    public ResponseEntity<IntrospectResponse> introspect(
+            @Valid @RequestBody IntrospectRequest request,
+            @RequestHeader(value = TokenIntrospectionService.KEY_HEADER, required = false) String introspectionKey) {
+        if (!tokenIntrospectionService.isTrustedCaller(introspectionKey)) {
+            throw new UnauthorizedException("Invalid introspection key");
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(tokenIntrospectionService.introspect(request.getTokens()));
+    }
 }
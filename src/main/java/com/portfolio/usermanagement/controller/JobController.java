@@ -0,0 +1,33 @@
+package com.portfolio.usermanagement.controller;
+
+import com.portfolio.usermanagement.dto.response.JobResponse;
+import com.portfolio.usermanagement.job.JobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/jobs")
+@SecurityRequirement(name = "bearerAuth")
+@Tag(name = "Jobs", description = "Background job status")
+public class JobController {
+
+    @Autowired
+    private JobService jobService;
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get job", description = "Status and progress of a background job (Admin only)")
+    public ResponseEntity<JobResponse> getJob(@PathVariable UUID id) {
+        return ResponseEntity.ok(jobService.getJob(id));
+    }
+}
@@ -0,0 +1,35 @@
+package com.portfolio.usermanagement.controller;
+
+import com.portfolio.usermanagement.security.jwt.SigningKeys;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+@RestController
+@Tag(name = "Authentication", description = "Authentication and registration endpoints")
+public class JwksController {
+
+    @Autowired
+    private SigningKeys signingKeys;
+
+    @Value("${jwt.signing.jwks-max-age:PT1H}")
+    private Duration maxAge;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Token signing keys", description = "Public keys that verify access tokens, by kid. Empty while tokens are signed with a shared secret")
+    public ResponseEntity<String> getJwks() {
+        // Keys only change on restart; a matching If-None-Match turns this into an empty 304
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(maxAge).cachePublic())
+                .eTag(signingKeys.jwksETag())
+                .body(signingKeys.jwksJson());
+    }
+}
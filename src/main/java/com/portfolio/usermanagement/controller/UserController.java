@@ -1,20 +1,44 @@
 package com.portfolio.usermanagement.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.portfolio.usermanagement.dto.request.BulkUserRequest;
+import com.portfolio.usermanagement.dto.request.UserCursor;
+import com.portfolio.usermanagement.dto.request.UserETag;
+import com.portfolio.usermanagement.dto.request.UserQueryRequest;
+import com.portfolio.usermanagement.dto.response.CursorPage;
+import com.portfolio.usermanagement.dto.response.JobResponse;
 import com.portfolio.usermanagement.dto.response.UserResponse;
+import com.portfolio.usermanagement.exception.BadRequestException;
+import com.portfolio.usermanagement.repository.projection.UserView;
+import com.portfolio.usermanagement.search.UserSuggestionIndex;
 import com.portfolio.usermanagement.service.UserService;
+import com.portfolio.usermanagement.service.impl.BulkUserServiceImpl;
+import com.portfolio.usermanagement.service.impl.UserDataFormat;
+import com.portfolio.usermanagement.service.impl.UserExportServiceImpl;
+import com.portfolio.usermanagement.service.impl.UserImportServiceImpl;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -23,9 +47,26 @@ import java.util.UUID;
 @Tag(name = "Users", description = "User management endpoints")
 public class UserController {
 
+    /**
+     * Per-user data: only the browser may keep it, and it must revalidate before each use.
+     */
+    private static final CacheControl CURRENT_USER_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserImportServiceImpl userImportService;
+
+    @Autowired
+    private UserExportServiceImpl userExportService;
+
+    @Autowired
+    private UserSuggestionIndex userSuggestionIndex;
+
+    @Autowired
+    private BulkUserServiceImpl bulkUserService;
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get all users", description = "Retrieve paginated list of all users (Admin only)")
@@ -41,29 +82,140 @@ public class UserController {
         return ResponseEntity.ok(users);
     }
 
+    @GetMapping(params = "cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get users by cursor", description = "Keyset-paginated list of users, newest first; pass an empty cursor for the first page (Admin only)")
+    public ResponseEntity<CursorPage<UserResponse>> getUsersByCursor(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        CursorPage<UserResponse> users = userService.getUsersAfter(UserCursor.decode(cursor), size, includeTotal);
+        return ResponseEntity.ok(users);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN') or @userSecurity.isOwner(#id, authentication)")
     @Operation(summary = "Get user by ID", description = "Retrieve user details by ID")
     public ResponseEntity<UserResponse> getUserById(@PathVariable UUID id) {
-        UserResponse user = userService.getUserById(id);
-        return ResponseEntity.ok(user);
+        UserView user = userService.getUserView(id);
+        // A matching If-None-Match turns this into an empty 304
+        return ResponseEntity.ok()
+                .eTag(user.etag().toHeader())
+                .body(user.toResponse());
     }
 
     @GetMapping("/me")
     @Operation(summary = "Get current user", description = "Retrieve current authenticated user profile")
-    public ResponseEntity<UserResponse> getCurrentUser(Authentication authentication) {
-        UserResponse user = userService.getCurrentUser(authentication.getName());
-        return ResponseEntity.ok(user);
+    public ResponseEntity<UserResponse> getCurrentUser(
+            Authentication authentication,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        // Polled by the frontend on every navigation: revalidate against the tag columns first
+        if (ifNoneMatch != null) {
+            UserETag current = userService.getCurrentUserETag(authentication.getName());
+            if (current.matchesIfNoneMatch(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(current.toWeakHeader())
+                        .cacheControl(CURRENT_USER_CACHE_CONTROL)
+                        .build();
+            }
+        }
+
+        UserView user = userService.getCurrentUserView(authentication.getName());
+        return ResponseEntity.ok()
+                .eTag(user.etag().toWeakHeader())
+                .cacheControl(CURRENT_USER_CACHE_CONTROL)
+                .body(user.toResponse());
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN') or @userSecurity.isOwner(#id, authentication)")
+    @Operation(summary = "Patch user", description = "Change email, first or last name with a JSON Merge Patch; absent fields are left as they are. Send If-Match with the ETag to avoid overwriting concurrent changes")
+    public ResponseEntity<UserResponse> patchUser(
+            @PathVariable UUID id,
+            @RequestBody JsonNode patch,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        UserView user = userService.patchUser(id, patch, UserETag.fromIfMatch(ifMatch).orElse(null));
+        return ResponseEntity.ok()
+                .eTag(user.etag().toHeader())
+                .body(user.toResponse());
     }
 
     @DeleteMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Delete user", description = "Delete user by ID (Admin only)")
-    public ResponseEntity<Void> deleteUser(@PathVariable UUID id) {
-        userService.deleteUser(id);
+    public ResponseEntity<Void> deleteUser(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        userService.deleteUser(id, UserETag.fromIfMatch(ifMatch).orElse(null));
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk operation", description = "Enable, disable, assign or remove a role, or delete many users selected by ids or a query filter; runs as a background job to poll at /api/jobs/{id} (Admin only)")
+    public ResponseEntity<JobResponse> bulkUpdate(@Valid @RequestBody BulkUserRequest request) {
+        JobResponse job = bulkUserService.submit(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"}, produces = "application/x-ndjson")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Import users", description = "Bulk create users from NDJSON or CSV; streams one result per row (Admin only)")
+    public ResponseEntity<StreamingResponseBody> importUsers(HttpServletRequest request, Authentication authentication) {
+        UserDataFormat format = UserDataFormat.fromMediaType(MediaType.parseMediaType(request.getContentType()));
+        String actor = authentication.getName();
+        StreamingResponseBody body = output ->
+                userImportService.importUsers(request.getInputStream(), format, actor, output);
+        return ResponseEntity.ok()
+                .contentType(UserDataFormat.NDJSON.getMediaType())
+                .body(body);
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export users", description = "Stream all users as NDJSON or CSV in creation order (Admin only)")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        UserDataFormat dataFormat = UserDataFormat.fromName(format);
+        StreamingResponseBody body = output -> userExportService.exportUsers(dataFormat, output);
+        return ResponseEntity.ok()
+                .contentType(dataFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + dataFormat.getExtension() + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/query")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Query users", description = "Filter users by enabled, role, creation range, email domain and name prefix, newest first (Admin only)")
+    public ResponseEntity<Slice<UserResponse>> queryUsers(
+            @ModelAttribute UserQueryRequest filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Slice<UserResponse> users = userService.queryUsers(filter, pageable);
+        return ResponseEntity.ok(users);
+    }
+
+    @GetMapping("/suggest")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Suggest users", description = "Usernames and emails starting with a prefix, served from memory (Admin only)")
+    public ResponseEntity<List<String>> suggestUsers(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        if (prefix.isBlank()) {
+            throw new BadRequestException("Prefix must not be blank");
+        }
+        List<String> suggestions = userSuggestionIndex.suggest(prefix, Math.min(Math.max(limit, 1), 50));
+        return ResponseEntity.ok(suggestions);
+    }
+
     @GetMapping("/search")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Search users", description = "Search users by username or email (Admin only)")
@@ -76,4 +228,16 @@ public class UserController {
         Page<UserResponse> users = userService.searchUsers(query, pageable);
         return ResponseEntity.ok(users);
     }
+
+    @GetMapping(value = "/search", params = "cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Search users by cursor", description = "Keyset-paginated search by username or email, newest first (Admin only)")
+    public ResponseEntity<CursorPage<UserResponse>> searchUsersByCursor(
+            @RequestParam String query,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        CursorPage<UserResponse> users = userService.searchUsersAfter(query, UserCursor.decode(cursor), size);
+        return ResponseEntity.ok(users);
+    }
 }
@@ -3,6 +3,13 @@ package com.portfolio.usermanagement.domain.model;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 /**
  * Domain model for roles with business logic.
  */
@@ -13,7 +20,35 @@ public class RoleDomain {
     public enum RoleName {
         ROLE_USER,
         ROLE_ADMIN,
-        ROLE_MODERATOR
+        ROLE_MODERATOR;
+
+        private static final Map<String, RoleName> BY_NAME = Arrays.stream(values())
+                .collect(Collectors.toUnmodifiableMap(Enum::name, Function.identity()));
+
+        /**
+         * Bit of this role in a role mask; see {@link UserDomain#getRoleMask()}.
+         */
+        public int bit() {
+            return 1 << ordinal();
+        }
+
+        /**
+         * Mask of the given role names; unknown names are ignored.
+         */
+        public static int maskOf(Collection<String> names) {
+            int mask = 0;
+            for (String name : names) {
+                RoleName role = BY_NAME.get(name);
+                if (role != null) {
+                    mask |= role.bit();
+                }
+            }
+            return mask;
+        }
+
+        public static Optional<RoleName> fromName(String name) {
+            return Optional.ofNullable(BY_NAME.get(name));
+        }
     }
 
     private final Long id;
@@ -16,7 +16,6 @@ import java.util.UUID;
  * Separate from JPA entity to maintain clean architecture.
  */
 @Getter
-@Builder
 public class UserDomain {
 
     private final UUID id;
@@ -24,35 +23,56 @@ public class UserDomain {
     private final Email email;
     private final FullName fullName;
     private final String encryptedPassword;
+    private final Boolean enabled;
+    private final Boolean accountNonLocked;
+    private final Boolean accountNonExpired;
+    private final Boolean credentialsNonExpired;
+    private final Set<String> roleNames;
 
-    @Builder.Default
-    private final Boolean enabled = true;
-
-    @Builder.Default
-    private final Boolean accountNonLocked = true;
-
-    @Builder.Default
-    private final Boolean accountNonExpired = true;
-
-    @Builder.Default
-    private final Boolean credentialsNonExpired = true;
-
-    @Builder.Default
-    private final Set<String> roleNames = new HashSet<>();
+    /**
+     * Role membership as a bitmask ({@link RoleDomain.RoleName#bit()}), derived from roleNames.
+     */
+    private final int roleMask;
 
     private final LocalDateTime createdAt;
     private final LocalDateTime updatedAt;
 
+    @Builder
+    private UserDomain(UUID id, Username username, Email email, FullName fullName, String encryptedPassword,
+                       Boolean enabled, Boolean accountNonLocked, Boolean accountNonExpired,
+                       Boolean credentialsNonExpired, Set<String> roleNames,
+                       LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.fullName = fullName;
+        this.encryptedPassword = encryptedPassword;
+        this.enabled = enabled != null ? enabled : true;
+        this.accountNonLocked = accountNonLocked != null ? accountNonLocked : true;
+        this.accountNonExpired = accountNonExpired != null ? accountNonExpired : true;
+        this.credentialsNonExpired = credentialsNonExpired != null ? credentialsNonExpired : true;
+        this.roleNames = roleNames != null ? roleNames : new HashSet<>();
+        this.roleMask = RoleDomain.RoleName.maskOf(this.roleNames);
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public boolean hasRole(RoleDomain.RoleName role) {
+        return (roleMask & role.bit()) != 0;
+    }
+
     public boolean hasRole(String roleName) {
-        return roleNames.contains(roleName);
+        return RoleDomain.RoleName.fromName(roleName)
+                .map(this::hasRole)
+                .orElse(false);
     }
 
     public boolean isAdmin() {
-        return hasRole("ROLE_ADMIN");
+        return hasRole(RoleDomain.RoleName.ROLE_ADMIN);
     }
 
     public boolean isRegularUser() {
-        return hasRole("ROLE_USER") && !isAdmin();
+        return hasRole(RoleDomain.RoleName.ROLE_USER) && !isAdmin();
     }
 
     public boolean isAccountActive() {
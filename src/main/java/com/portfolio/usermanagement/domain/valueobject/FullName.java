@@ -19,15 +19,23 @@ public class FullName {
     }
 
     public static FullName of(String firstName, String lastName) {
-        validateName(firstName, "First name");
-        validateName(lastName, "Last name");
-
         return new FullName(
-            capitalize(firstName.trim()),
-            capitalize(lastName.trim())
+            part(firstName, "First name"),
+            part(lastName, "Last name")
         );
     }
 
+    /**
+     * Validate and normalize a single name part, for updates that change only one of them.
+     *
+     * @param fieldName used in the error message, e.g. "First name"
+     * @return the trimmed, capitalized name
+     */
+    public static String part(String name, String fieldName) {
+        validateName(name, fieldName);
+        return capitalize(name.trim());
+    }
+
     private static void validateName(String name, String fieldName) {
         if (name == null || name.isBlank()) {
             throw new IllegalArgumentException(fieldName + " cannot be null or blank");
@@ -0,0 +1,56 @@
+package com.portfolio.usermanagement.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * One operation applied to many users, selected either by id or by a query filter.
+ * Exactly one of {@code ids} and {@code filter} must be given.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserRequest {
+
+    @NotNull(message = "Operation is required")
+    private Operation operation;
+
+    @Size(min = 1, max = 100000, message = "Between 1 and 100000 ids can be given")
+    private Set<UUID> ids;
+
+    @Valid
+    private UserQueryRequest filter;
+
+    /**
+     * Role to assign or remove, with or without the ROLE_ prefix. Required for role operations only.
+     */
+    private String role;
+
+    public enum Operation {
+        ENABLE,
+        DISABLE,
+        ASSIGN_ROLE,
+        REMOVE_ROLE,
+        DELETE;
+
+        public boolean needsRole() {
+            return this == ASSIGN_ROLE || this == REMOVE_ROLE;
+        }
+
+        /**
+         * Whether affected users lose their sessions.
+         */
+        public boolean endsSessions() {
+            return this == DISABLE || this == REMOVE_ROLE || this == DELETE;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.portfolio.usermanagement.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for introspecting a batch of access tokens.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntrospectRequest {
+
+    /**
+     * Access tokens to check; results come back in the same order.
+     */
+    @NotEmpty(message = "At least one token is required")
+    private List<String> tokens;
+}
@@ -0,0 +1,53 @@
+package com.portfolio.usermanagement.dto.request;
+
+import com.portfolio.usermanagement.exception.BadRequestException;
+import com.portfolio.usermanagement.exception.ErrorCode;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the newest-first user listing, exchanged with clients as an opaque token.
+ * Encodes the sort key and the id of the last row returned. Bulk jobs on a filter keep their
+ * progress in the same form, walking oldest first.
+ */
+public record UserCursor(LocalDateTime createdAt, UUID id) {
+
+    /**
+     * Sorts after every stored row, so a "less than" comparison yields the first page.
+     */
+    public static final UserCursor START = new UserCursor(
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59),
+            new UUID(-1L, -1L)
+    );
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor received from a client; blank means "start from the first page".
+     *
+     * @throws BadRequestException if the cursor was not produced by {@link #encode()}
+     */
+    public static UserCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new UserCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1))
+            );
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor", ErrorCode.INVALID_INPUT);
+        }
+    }
+}
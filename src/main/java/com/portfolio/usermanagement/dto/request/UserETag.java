@@ -0,0 +1,64 @@
+package com.portfolio.usermanagement.dto.request;
+
+import com.portfolio.usermanagement.exception.PreconditionFailedException;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Strong entity tag of a user representation. Combines the row version with the role mask,
+ * because role changes live in user_roles and do not bump the version.
+ */
+public record UserETag(long version, int roleMask) {
+
+    private static final Pattern STRONG_TAG = Pattern.compile("\"(\\d{1,18})-(\\d{1,9})\"");
+
+    /**
+     * Header value including the quotes, e.g. {@code "3-1"}.
+     */
+    public String toHeader() {
+        return "\"" + version + "-" + roleMask + "\"";
+    }
+
+    /**
+     * Weak form for responses whose bytes may vary while the user does not, e.g. {@code W/"3-1"}.
+     */
+    public String toWeakHeader() {
+        return "W/" + toHeader();
+    }
+
+    /**
+     * Whether an If-None-Match header lists this tag, using weak comparison as RFC 9110
+     * requires for If-None-Match.
+     */
+    public boolean matchesIfNoneMatch(String header) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        String opaque = toHeader();
+        for (String candidate : header.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Precondition carried by an If-Match header; empty when the header is absent or "*".
+     * Only a single strong tag issued by this API can match; anything else fails the
+     * precondition, as a weak or foreign tag never matches under strong comparison.
+     */
+    public static Optional<UserETag> fromIfMatch(String header) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return Optional.empty();
+        }
+        Matcher matcher = STRONG_TAG.matcher(header.trim());
+        if (!matcher.matches()) {
+            throw new PreconditionFailedException("If-Match does not match the current user");
+        }
+        return Optional.of(new UserETag(Long.parseLong(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+    }
+}
@@ -0,0 +1,36 @@
+package com.portfolio.usermanagement.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.portfolio.usermanagement.validation.StrongPassword;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One record of a bulk user import (an NDJSON line or a CSV row).
+ * Username, email and names are checked with the domain value objects; the password
+ * goes through the same strength rules as registration.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportRow {
+
+    @JsonProperty("username")
+    private String username;
+
+    @JsonProperty("email")
+    private String email;
+
+    @StrongPassword
+    @JsonProperty("password")
+    private String password;
+
+    @JsonProperty("firstName")
+    private String firstName;
+
+    @JsonProperty("lastName")
+    private String lastName;
+}
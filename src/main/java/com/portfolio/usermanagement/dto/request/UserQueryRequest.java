@@ -0,0 +1,41 @@
+package com.portfolio.usermanagement.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for the admin user query. All given filters must match.
+ * At least one selective filter (email domain, name prefix or a creation range with both
+ * ends, at most 31 days long) is required.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserQueryRequest {
+
+    private Boolean enabled;
+
+    /**
+     * Role name, with or without the ROLE_ prefix (e.g. ADMIN or ROLE_ADMIN).
+     */
+    private String role;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    private String emailDomain;
+
+    /**
+     * Prefix of "first last", case-insensitive.
+     */
+    private String namePrefix;
+}
@@ -0,0 +1,24 @@
+package com.portfolio.usermanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * {@code next} is absent on the last page; {@code approximateTotal} is a planner estimate,
+ * only filled in when requested.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private String next;
+    private Long approximateTotal;
+}
@@ -0,0 +1,17 @@
+package com.portfolio.usermanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Introspection results, one per requested token and in request order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IntrospectResponse {
+    private List<TokenIntrospection> results;
+}
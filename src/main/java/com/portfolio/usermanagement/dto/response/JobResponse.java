@@ -0,0 +1,32 @@
+package com.portfolio.usermanagement.dto.response;
+
+import com.portfolio.usermanagement.entity.Job;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Status and progress of a background job.
+ * What {@code processed} and {@code affected} count is up to the job type.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobResponse {
+    private UUID id;
+    private String type;
+    private Job.Status status;
+    private long processed;
+    private long affected;
+    private int attempts;
+    private String error;
+    private String createdBy;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
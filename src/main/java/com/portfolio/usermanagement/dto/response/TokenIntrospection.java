@@ -0,0 +1,45 @@
+package com.portfolio.usermanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * RFC 7662 introspection result for one token.
+ * Inactive tokens carry nothing but {@code active: false}, whatever the reason.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenIntrospection {
+
+    private boolean active;
+
+    private String sub;
+
+    private List<String> roles;
+
+    /**
+     * Expiry, seconds since the epoch.
+     */
+    private Long exp;
+
+    /**
+     * Issue time, seconds since the epoch.
+     */
+    private Long iat;
+
+    private String jti;
+
+    @JsonProperty("token_type")
+    private String tokenType;
+
+    public static TokenIntrospection inactive() {
+        return new TokenIntrospection();
+    }
+}
@@ -0,0 +1,30 @@
+package com.portfolio.usermanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a single import row, streamed back as one NDJSON line.
+ *
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportResult {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        /** The import stopped here; rows without a result were not imported */
+        ERROR
+    }
+
+    private long line;
+    private String username;
+    private Status status;
+    private String message;
+}
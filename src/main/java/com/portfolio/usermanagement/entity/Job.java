@@ -0,0 +1,83 @@
+package com.portfolio.usermanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Background job: what to run, who runs it and how far it got.
+ * Claiming, checkpoints and completion are written by {@code JobRepository} statements;
+ * the entity is only created on submission and read for status.
+ */
+@Entity
+@Table(name = "jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString(exclude = "payload")
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = false)
+public class Job extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @EqualsAndHashCode.Include
+    private UUID id;
+
+    @Column(name = "type", nullable = false, length = 50)
+    private String type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private Status status = Status.QUEUED;
+
+    /**
+     * Handler input as JSON.
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    /**
+     * Last checkpoint written by the handler, in a format of its choosing.
+     */
+    @Column(name = "job_cursor", columnDefinition = "TEXT")
+    private String cursor;
+
+    @Column(name = "processed", nullable = false)
+    @Builder.Default
+    private long processed = 0;
+
+    @Column(name = "affected", nullable = false)
+    @Builder.Default
+    private long affected = 0;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private int attempts = 0;
+
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+
+    @Column(name = "error", columnDefinition = "TEXT")
+    private String error;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -44,6 +44,13 @@ public class RefreshToken extends BaseEntity {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    /**
+     * The user's session epoch when this token was issued.
+     */
+    @Column(name = "session_epoch", nullable = false)
+    @Builder.Default
+    private int sessionEpoch = 0;
+
     /**
      * When this refresh token expires.
      */
@@ -10,6 +10,7 @@ import java.util.Set;
  * Role entity for RBAC.
  */
 @Entity
+@EntityListeners(RoleChangeListener.class)
 @Table(
     name = "roles",
     indexes = {
@@ -41,10 +42,19 @@ public class Role extends BaseEntity {
     @Builder.Default
     private Set<User> users = new HashSet<>();
 
+    /**
+     * Declaration order is significant: {@link #bit()} is derived from the ordinal and
+     * must stay aligned with {@link com.portfolio.usermanagement.domain.model.RoleDomain.RoleName}.
+     * Append new roles at the end.
+     */
     public enum RoleName {
         ROLE_USER,
         ROLE_ADMIN,
-        ROLE_MODERATOR
+        ROLE_MODERATOR;
+
+        public int bit() {
+            return 1 << ordinal();
+        }
     }
 
     public Role(RoleName name) {
@@ -57,12 +67,10 @@ public class Role extends BaseEntity {
     }
 
     public void addUser(User user) {
-        users.add(user);
-        user.getRoles().add(this);
+        user.addRole(this);
     }
 
     public void removeUser(User user) {
-        users.remove(user);
-        user.getRoles().remove(this);
+        user.removeRole(this);
     }
 }
@@ -0,0 +1,29 @@
+package com.portfolio.usermanagement.entity;
+
+import com.portfolio.usermanagement.event.RolesChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Announces writes to the roles table so in-memory copies can be refreshed after commit.
+ * Instantiated by Hibernate through Spring, hence the constructor injection.
+ */
+@Component
+public class RoleChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public RoleChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onRoleChanged(Role role) {
+        eventPublisher.publishEvent(new RolesChangedEvent(role.getName()));
+    }
+}
@@ -2,21 +2,29 @@ package com.portfolio.usermanagement.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
 /**
  * User entity with authentication and authorization info.
+ * Soft-deleted rows are invisible to every entity query and association.
  */
 @Entity
+@DynamicUpdate
+@SQLRestriction("deleted_at IS NULL")
 @Table(
     name = "users",
     indexes = {
         @Index(name = "idx_user_username", columnList = "username", unique = true),
         @Index(name = "idx_user_email", columnList = "email", unique = true),
-        @Index(name = "idx_user_enabled", columnList = "enabled")
+        @Index(name = "idx_user_enabled", columnList = "enabled"),
+        @Index(name = "idx_user_updated_at", columnList = "updated_at")
     }
 )
 @Getter
@@ -48,6 +56,18 @@ public class User extends BaseEntity {
     @Column(name = "last_name", nullable = false, length = 50)
     private String lastName;
 
+    /**
+     * Generated by the database from email; read-only here.
+     */
+    @Column(name = "email_domain", insertable = false, updatable = false)
+    private String emailDomain;
+
+    /**
+     * Generated by the database as lower-cased "first last"; read-only here.
+     */
+    @Column(name = "search_name", insertable = false, updatable = false)
+    private String searchName;
+
     @Column(name = "enabled", nullable = false)
     @Builder.Default
     private Boolean enabled = true;
@@ -64,6 +84,36 @@ public class User extends BaseEntity {
     @Builder.Default
     private Boolean credentialsNonExpired = true;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
+    /**
+     * Bitmask of {@link Role.RoleName#bit()} over the roles below. Written by a trigger on
+     * user_roles; kept current in memory by {@link #addRole} and {@link #removeRole}.
+     */
+    @Column(name = "role_mask", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Setter(AccessLevel.NONE)
+    @Builder.Default
+    private int roleMask = 0;
+
+    /**
+     * Tokens issued under an older epoch are rejected. Only ever incremented by SQL.
+     */
+    @Column(name = "session_epoch", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @Setter(AccessLevel.NONE)
+    @Builder.Default
+    private int sessionEpoch = 0;
+
+    /**
+     * Set by the soft-delete statement only; always null on a loaded entity.
+     */
+    @Column(name = "deleted_at", insertable = false, updatable = false)
+    private LocalDateTime deletedAt;
+
     @ManyToMany(fetch = FetchType.EAGER, cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     @JoinTable(
         name = "user_roles",
@@ -84,11 +134,13 @@ public class User extends BaseEntity {
     public void addRole(Role role) {
         roles.add(role);
         role.getUsers().add(this);
+        roleMask |= role.getName().bit();
     }
 
     public void removeRole(Role role) {
         roles.remove(role);
         role.getUsers().remove(this);
+        roleMask &= ~role.getName().bit();
     }
 
     public void setProfile(Profile profile) {
@@ -107,8 +159,7 @@ public class User extends BaseEntity {
     }
 
     public boolean hasRole(Role.RoleName roleName) {
-        return roles.stream()
-                .anyMatch(role -> role.getName().equals(roleName));
+        return (roleMask & roleName.bit()) != 0;
     }
 
     public boolean isAdmin() {
@@ -0,0 +1,9 @@
+package com.portfolio.usermanagement.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a background job is queued.
+ */
+public record JobSubmittedEvent(UUID jobId, String type) {
+}
@@ -0,0 +1,9 @@
+package com.portfolio.usermanagement.event;
+
+import com.portfolio.usermanagement.entity.Role;
+
+/**
+ * Published when a row of the roles table is inserted, updated or deleted.
+ */
+public record RolesChangedEvent(Role.RoleName roleName) {
+}
@@ -0,0 +1,41 @@
+package com.portfolio.usermanagement.event;
+
+import java.util.UUID;
+
+/**
+ * Published when a user's identifying fields are created, changed or removed.
+ * Listeners that mirror user data (e.g. the suggestion index) should react after commit.
+ *
+ * @param previousUsername username before the change, null for creations
+ * @param previousEmail    email before the change, null for creations
+ * @param username         username after the change, null for deletions
+ * @param email            email after the change, null for deletions
+ */
+public record UserChangedEvent(
+        Type type,
+        UUID userId,
+        String previousUsername,
+        String previousEmail,
+        String username,
+        String email
+) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static UserChangedEvent created(UUID userId, String username, String email) {
+        return new UserChangedEvent(Type.CREATED, userId, null, null, username, email);
+    }
+
+    public static UserChangedEvent updated(UUID userId, String previousUsername, String previousEmail,
+                                           String username, String email) {
+        return new UserChangedEvent(Type.UPDATED, userId, previousUsername, previousEmail, username, email);
+    }
+
+    public static UserChangedEvent deleted(UUID userId, String username, String email) {
+        return new UserChangedEvent(Type.DELETED, userId, username, email, null, null);
+    }
+}
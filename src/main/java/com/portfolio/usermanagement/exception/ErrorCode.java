@@ -34,6 +34,10 @@ public enum ErrorCode {
     // Conflict errors (409)
     RESOURCE_ALREADY_EXISTS("RESOURCE_ALREADY_EXISTS", "Resource already exists"),
     DUPLICATE_RESOURCE("DUPLICATE_RESOURCE", "Duplicate resource detected"),
+    CONCURRENT_MODIFICATION("CONCURRENT_MODIFICATION", "Resource was modified concurrently"),
+
+    // Precondition errors (412)
+    PRECONDITION_FAILED("PRECONDITION_FAILED", "Resource has changed since it was last read"),
 
     // Account security errors (423)
     ACCOUNT_LOCKED("ACCOUNT_LOCKED", "Account is locked due to security reasons"),
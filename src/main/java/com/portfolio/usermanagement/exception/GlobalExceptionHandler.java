@@ -2,6 +2,8 @@ package com.portfolio.usermanagement.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -168,6 +170,63 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
+    /**
+     * Optimistic lock failures of unconditional writes that raced another writer.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException ex, WebRequest request) {
+        logger.debug("Optimistic lock failure: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.CONFLICT.value(),
+            "Conflict",
+            ErrorCode.CONCURRENT_MODIFICATION.getCode(),
+            "The resource was modified concurrently, please retry",
+            getPath(request)
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    // ==================== Precondition Exceptions (412) ====================
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(
+            PreconditionFailedException ex, WebRequest request) {
+        logger.debug("Precondition failed: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.PRECONDITION_FAILED.value(),
+            "Precondition Failed",
+            ex.getErrorCode().getCode(),
+            ex.getMessage(),
+            getPath(request)
+        );
+        return new ResponseEntity<>(error, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Unique or foreign key violations not translated by the service, e.g. a concurrent
+     * insert winning the race after an existence check.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
+            DataIntegrityViolationException ex, WebRequest request) {
+        logger.debug("Data integrity violation: {}", ex.getMostSpecificCause().getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.CONFLICT.value(),
+            "Conflict",
+            ErrorCode.DUPLICATE_RESOURCE.getCode(),
+            "The request conflicts with existing data",
+            getPath(request)
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     // ==================== Account Security Exceptions (423, 401) ====================
 
     @ExceptionHandler(LockedException.class)
@@ -226,6 +285,30 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, headers, HttpStatus.TOO_MANY_REQUESTS);
     }
 
+    // ==================== Overload Exceptions (503) ====================
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(
+            ServiceUnavailableException ex, WebRequest request) {
+        logger.warn("Service unavailable: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Service Unavailable",
+            ex.getErrorCode().getCode(),
+            ex.getMessage(),
+            getPath(request)
+        );
+
+        HttpHeaders headers = new HttpHeaders();
+        if (ex.getRetryAfterSeconds() != null) {
+            headers.add(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+        }
+
+        return new ResponseEntity<>(error, headers, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     // ==================== Validation Exceptions (422) ====================
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
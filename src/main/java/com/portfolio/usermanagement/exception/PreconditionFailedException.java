@@ -0,0 +1,19 @@
+package com.portfolio.usermanagement.exception;
+
+/**
+ * Exception thrown when a conditional request's precondition (If-Match) does not hold.
+ * Maps to HTTP 412 Precondition Failed.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    private final ErrorCode errorCode;
+
+    public PreconditionFailedException(String message) {
+        super(message);
+        this.errorCode = ErrorCode.PRECONDITION_FAILED;
+    }
+
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+}
@@ -0,0 +1,69 @@
+package com.portfolio.usermanagement.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.usermanagement.entity.Job;
+import com.portfolio.usermanagement.repository.JobRepository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+/**
+ * What a {@link JobHandler} sees of the job it runs.
+ */
+public class JobContext {
+
+    private final Job job;
+    private final String node;
+    private final JobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+    private final BooleanSupplier stopping;
+
+    JobContext(Job job, String node, JobRepository jobRepository, ObjectMapper objectMapper, BooleanSupplier stopping) {
+        this.job = job;
+        this.node = node;
+        this.jobRepository = jobRepository;
+        this.objectMapper = objectMapper;
+        this.stopping = stopping;
+    }
+
+    public UUID jobId() {
+        return job.getId();
+    }
+
+    /**
+     * Cursor of the last checkpoint, or null on a first run.
+     */
+    public String cursor() {
+        return job.getCursor();
+    }
+
+    public <T> T payload(Class<T> type) {
+        try {
+            return objectMapper.readValue(job.getPayload(), type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable payload for job " + job.getId(), e);
+        }
+    }
+
+    /**
+     * Record progress up to the given cursor. Call it inside the transaction that did the
+     * work, so the work and its checkpoint commit or roll back together.
+     *
+     * @throws IllegalStateException if another instance has taken the job over
+     */
+    public void checkpoint(String cursor, long processed, long affected) {
+        if (jobRepository.checkpoint(job.getId(), node, cursor, processed, affected, LocalDateTime.now()) == 0) {
+            throw new IllegalStateException("Job " + job.getId() + " is no longer held by this instance");
+        }
+        job.setCursor(cursor);
+    }
+
+    /**
+     * True once the instance is shutting down; the job is resumed elsewhere from its last checkpoint.
+     */
+    public boolean shouldStop() {
+        return stopping.getAsBoolean();
+    }
+}
@@ -0,0 +1,158 @@
+package com.portfolio.usermanagement.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.usermanagement.entity.Job;
+import com.portfolio.usermanagement.event.JobSubmittedEvent;
+import com.portfolio.usermanagement.repository.JobRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Claims jobs from the jobs table and runs them on virtual threads, at most
+ * {@code maxConcurrency} at a time on this instance.
+ * Polls on a fixed delay and whenever a job is submitted; sends heartbeats for the jobs it
+ * runs so other instances only take over jobs of an instance that is gone. On shutdown,
+ * running jobs stop after their current step and go back to the queue.
+ */
+@Slf4j
+@Component
+public class JobDispatcher {
+
+    private final JobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<String, JobHandler> handlers;
+    private final Semaphore permits;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("job-", 0).factory());
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+    private final String node = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8);
+    private final Duration staleAfter;
+    private final int maxAttempts;
+
+    private volatile boolean stopping;
+
+    public JobDispatcher(JobRepository jobRepository,
+                         ObjectMapper objectMapper,
+                         List<JobHandler> handlers,
+                         @Value("${app.jobs.max-concurrency:4}") int maxConcurrency,
+                         @Value("${app.jobs.stale-after:PT2M}") Duration staleAfter,
+                         @Value("${app.jobs.max-attempts:3}") int maxAttempts) {
+        this.jobRepository = jobRepository;
+        this.objectMapper = objectMapper;
+        this.handlers = handlers.stream().collect(Collectors.toMap(JobHandler::type, Function.identity()));
+        this.permits = new Semaphore(maxConcurrency);
+        this.staleAfter = staleAfter;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Scheduled(fixedDelayString = "${app.jobs.poll-interval-ms:5000}")
+    public void poll() {
+        LocalDateTime now = LocalDateTime.now();
+        if (!running.isEmpty()) {
+            jobRepository.heartbeat(running, node, now);
+        }
+        int abandoned = jobRepository.failAbandoned(now.minus(staleAfter), maxAttempts, now,
+                Job.Status.RUNNING, Job.Status.FAILED);
+        if (abandoned > 0) {
+            log.warn("Failed {} jobs abandoned by their instance", abandoned);
+        }
+        dispatch();
+    }
+
+    /**
+     * Look for work now instead of at the next poll, once the new job is visible.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onJobSubmitted(JobSubmittedEvent event) {
+        if (!stopping) {
+            executor.execute(this::dispatch);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Claim and start jobs while permits are left.
+     */
+    void dispatch() {
+        while (!stopping && permits.tryAcquire()) {
+            Optional<Job> claimed;
+            try {
+                LocalDateTime now = LocalDateTime.now();
+                claimed = jobRepository.claimNext(node, now, now.minus(staleAfter), maxAttempts);
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+            if (claimed.isEmpty()) {
+                permits.release();
+                return;
+            }
+            Job job = claimed.get();
+            running.add(job.getId());
+            executor.execute(() -> {
+                try {
+                    run(job);
+                } finally {
+                    running.remove(job.getId());
+                    permits.release();
+                }
+            });
+        }
+    }
+
+    void run(Job job) {
+        JobHandler handler = handlers.get(job.getType());
+        if (handler == null) {
+            jobRepository.finish(job.getId(), node, Job.Status.FAILED, "No handler for job type " + job.getType(),
+                    LocalDateTime.now());
+            return;
+        }
+        log.info("Running {} job {} (attempt {})", job.getType(), job.getId(), job.getAttempts());
+        try {
+            handler.run(new JobContext(job, node, jobRepository, objectMapper, () -> stopping));
+        } catch (RuntimeException e) {
+            if (stopping) {
+                log.info("Releasing {} job {} on shutdown after: {}", job.getType(), job.getId(), e.getMessage());
+                jobRepository.release(job.getId(), node, Job.Status.QUEUED);
+            } else {
+                log.error("{} job {} failed", job.getType(), job.getId(), e);
+                jobRepository.finish(job.getId(), node, Job.Status.FAILED, e.getMessage(), LocalDateTime.now());
+            }
+            return;
+        }
+        if (stopping) {
+            log.info("Releasing {} job {} on shutdown", job.getType(), job.getId());
+            jobRepository.release(job.getId(), node, Job.Status.QUEUED);
+        } else {
+            jobRepository.finish(job.getId(), node, Job.Status.COMPLETED, null, LocalDateTime.now());
+        }
+    }
+}
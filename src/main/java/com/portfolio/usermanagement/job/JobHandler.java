@@ -0,0 +1,20 @@
+package com.portfolio.usermanagement.job;
+
+/**
+ * Runs jobs of one type.
+ * A run may be a resumption: handlers start from {@link JobContext#cursor()} when it is set,
+ * record progress with {@link JobContext#checkpoint} and return early once
+ * {@link JobContext#shouldStop()} turns true.
+ */
+public interface JobHandler {
+
+    /**
+     * Job type this handler runs; stored with each job.
+     */
+    String type();
+
+    /**
+     * Run the job to completion. An exception fails the job.
+     */
+    void run(JobContext context);
+}
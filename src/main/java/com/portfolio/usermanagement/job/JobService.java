@@ -0,0 +1,92 @@
+package com.portfolio.usermanagement.job;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.usermanagement.dto.response.JobResponse;
+import com.portfolio.usermanagement.entity.Job;
+import com.portfolio.usermanagement.event.JobSubmittedEvent;
+import com.portfolio.usermanagement.exception.ResourceNotFoundException;
+import com.portfolio.usermanagement.repository.JobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Queues background jobs and reports on them. Running them is up to {@link JobDispatcher}.
+ */
+@Slf4j
+@Service
+public class JobService {
+
+    private final JobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration retention;
+
+    public JobService(JobRepository jobRepository,
+                      ObjectMapper objectMapper,
+                      ApplicationEventPublisher eventPublisher,
+                      @Value("${app.jobs.retention:P7D}") Duration retention) {
+        this.jobRepository = jobRepository;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.retention = retention;
+    }
+
+    /**
+     * Queue a job for the handler of the given type.
+     *
+     * @param payload handler input, stored as JSON
+     */
+    @Transactional
+    public JobResponse submit(String type, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Job payload cannot be serialized", e);
+        }
+        Job job = jobRepository.save(Job.builder().type(type).payload(json).build());
+        eventPublisher.publishEvent(new JobSubmittedEvent(job.getId(), type));
+        log.info("Queued {} job {}", type, job.getId());
+        return toResponse(job);
+    }
+
+    @Transactional(readOnly = true)
+    public JobResponse getJob(UUID id) {
+        return jobRepository.findById(id)
+                .map(JobService::toResponse)
+                .orElseThrow(() -> new ResourceNotFoundException("Job", "id", id));
+    }
+
+    @Scheduled(fixedRate = 3600000) // Every hour (in milliseconds)
+    public void cleanupFinishedJobs() {
+        int deleted = jobRepository.deleteFinishedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Deleted {} finished jobs", deleted);
+        }
+    }
+
+    private static JobResponse toResponse(Job job) {
+        return JobResponse.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .status(job.getStatus())
+                .processed(job.getProcessed())
+                .affected(job.getAffected())
+                .attempts(job.getAttempts())
+                .error(job.getError())
+                .createdBy(job.getCreatedBy())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
@@ -33,6 +33,49 @@ public class MetricsService {
         log.debug("User registration metric recorded");
     }
 
+    /**
+     * Records the outcome of rows processed by a bulk user import.
+     */
+    public void recordUserImport(String status, long count) {
+        if (count == 0) {
+            return;
+        }
+        Counter.builder("user.import.rows")
+                .description("Rows processed by bulk user imports")
+                .tag("status", status)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    /**
+     * Records one chunk of a bulk user operation: users processed and changed, total time
+     * spent on the chunk and the part of it spent waiting for row locks.
+     */
+    public void recordBulkChunk(String operation, int processed, int affected, long durationNanos, long lockWaitNanos) {
+        Counter.builder("user.bulk.rows")
+                .description("Users processed by bulk operations")
+                .tag("operation", operation)
+                .tag("outcome", "affected")
+                .register(meterRegistry)
+                .increment(affected);
+        Counter.builder("user.bulk.rows")
+                .description("Users processed by bulk operations")
+                .tag("operation", operation)
+                .tag("outcome", "unchanged")
+                .register(meterRegistry)
+                .increment(processed - affected);
+        Timer.builder("user.bulk.chunk.duration")
+                .description("Duration of one bulk operation chunk")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+        Timer.builder("user.bulk.lock.wait")
+                .description("Time a bulk operation chunk waited for row locks")
+                .tag("operation", operation)
+                .register(meterRegistry)
+                .record(lockWaitNanos, TimeUnit.NANOSECONDS);
+    }
+
     /**
      * Records a successful login event.
      */
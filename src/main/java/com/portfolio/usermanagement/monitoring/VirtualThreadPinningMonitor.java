@@ -0,0 +1,80 @@
+package com.portfolio.usermanagement.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Streams JFR {@code jdk.VirtualThreadPinned} events while virtual threads are enabled.
+ * A virtual thread that blocks inside {@code synchronized} or native code keeps its carrier
+ * thread, so enough of them stall every request. Each pin longer than {@code threshold} is
+ * recorded in the {@code jvm.threads.virtual.pinned} timer and logged with the application
+ * frame that caused it.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "com.portfolio.usermanagement.";
+
+    private final Timer pinned;
+    private final Duration threshold;
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${app.threads.pinned-threshold:PT0.02S}") Duration threshold) {
+        this.pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent pinned to their carrier thread")
+                .register(meterRegistry);
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    void stop() {
+        stream.close();
+    }
+
+    void onPinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site(event.getStackTrace()));
+    }
+
+    /**
+     * The innermost application frame, or the top frame if the stack has none.
+     */
+    private static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        RecordedFrame site = frames.stream()
+                .filter(frame -> frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APP_PACKAGE))
+                .findFirst()
+                .orElse(frames.get(0));
+        return site.getMethod().getType().getName() + "." + site.getMethod().getName() + ":" + site.getLineNumber();
+    }
+}
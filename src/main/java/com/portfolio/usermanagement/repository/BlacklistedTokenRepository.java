@@ -8,6 +8,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -32,6 +33,16 @@ public interface BlacklistedTokenRepository extends JpaRepository<BlacklistedTok
      */
     boolean existsByJti(String jti);
 
+    /**
+     * Unexpired tokens blacklisted at or after the given time, for the in-memory front cache.
+     *
+     * @param since lower bound of the blacklisting time
+     * @param now   current timestamp
+     * @return matching blacklisted tokens
+     */
+    @Query("SELECT bt FROM BlacklistedToken bt WHERE bt.blacklistedAt >= :since AND bt.expiryTime > :now")
+    List<BlacklistedToken> findBlacklistedSince(@Param("since") Instant since, @Param("now") Instant now);
+
     /**
      * Delete all expired tokens (tokens whose expiry time has passed).
      *
@@ -0,0 +1,112 @@
+package com.portfolio.usermanagement.repository;
+
+import com.portfolio.usermanagement.entity.Job;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for background jobs.
+ * Every write after submission is a single conditional statement on the job row, so
+ * instances coordinate through the table without holding locks while a job runs.
+ */
+@Repository
+public interface JobRepository extends JpaRepository<Job, UUID> {
+
+    /**
+     * Claim the next job for this instance: a queued one, or one whose instance stopped sending
+     * heartbeats and that has attempts left. Types with the fewest running jobs go first, then
+     * the oldest job, so a long queue of one kind of work cannot starve the others.
+     * Rows claimed by a concurrent dispatcher are skipped, not waited for.
+     *
+     * @return the claimed job, or empty if there is nothing to run
+     */
+    @Transactional
+    @Query(value = "WITH claimed AS (" +
+            "UPDATE jobs j SET status = 'RUNNING', locked_by = :node, attempts = j.attempts + 1, " +
+            "started_at = COALESCE(j.started_at, :now), heartbeat_at = :now " +
+            "WHERE j.id = (" +
+            "SELECT c.id FROM jobs c " +
+            "WHERE c.status = 'QUEUED' " +
+            "OR (c.status = 'RUNNING' AND c.heartbeat_at < :staleBefore AND c.attempts < :maxAttempts) " +
+            "ORDER BY (SELECT count(*) FROM jobs r WHERE r.type = c.type AND r.status = 'RUNNING' " +
+            "AND r.heartbeat_at >= :staleBefore), c.created_at " +
+            "LIMIT 1 FOR UPDATE SKIP LOCKED) " +
+            "RETURNING j.*) " +
+            "SELECT * FROM claimed",
+            nativeQuery = true)
+    Optional<Job> claimNext(@Param("node") String node,
+                            @Param("now") LocalDateTime now,
+                            @Param("staleBefore") LocalDateTime staleBefore,
+                            @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * Record progress. Joins the caller's transaction, so the checkpoint commits together
+     * with the work it describes.
+     *
+     * @return 0 if the job is no longer held by this instance
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Job j SET j.cursor = :cursor, j.processed = j.processed + :processed, " +
+            "j.affected = j.affected + :affected, j.heartbeatAt = :now " +
+            "WHERE j.id = :id AND j.lockedBy = :node")
+    int checkpoint(@Param("id") UUID id,
+                   @Param("node") String node,
+                   @Param("cursor") String cursor,
+                   @Param("processed") long processed,
+                   @Param("affected") long affected,
+                   @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Job j SET j.heartbeatAt = :now WHERE j.id IN :ids AND j.lockedBy = :node")
+    int heartbeat(@Param("ids") Collection<UUID> ids, @Param("node") String node, @Param("now") LocalDateTime now);
+
+    /**
+     * Mark a job held by this instance as completed or failed.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :status, j.error = :error, j.finishedAt = :now, j.lockedBy = NULL " +
+            "WHERE j.id = :id AND j.lockedBy = :node")
+    int finish(@Param("id") UUID id,
+               @Param("node") String node,
+               @Param("status") Job.Status status,
+               @Param("error") String error,
+               @Param("now") LocalDateTime now);
+
+    /**
+     * Hand a job held by this instance back to the queue; it resumes from its last checkpoint.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :queued, j.lockedBy = NULL WHERE j.id = :id AND j.lockedBy = :node")
+    int release(@Param("id") UUID id, @Param("node") String node, @Param("queued") Job.Status queued);
+
+    /**
+     * Fail jobs whose instance stopped sending heartbeats and that have no attempts left.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Job j SET j.status = :failed, j.error = 'Abandoned by its instance', j.finishedAt = :now, " +
+            "j.lockedBy = NULL WHERE j.status = :running AND j.heartbeatAt < :staleBefore AND j.attempts >= :maxAttempts")
+    int failAbandoned(@Param("staleBefore") LocalDateTime staleBefore,
+                      @Param("maxAttempts") int maxAttempts,
+                      @Param("now") LocalDateTime now,
+                      @Param("running") Job.Status running,
+                      @Param("failed") Job.Status failed);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Job j WHERE j.finishedAt < :before")
+    int deleteFinishedBefore(@Param("before") LocalDateTime before);
+}
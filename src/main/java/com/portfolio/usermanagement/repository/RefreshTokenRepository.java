@@ -28,6 +28,16 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
      */
     Optional<RefreshToken> findByToken(String token);
 
+    /**
+     * Find a refresh token together with its user, for verification.
+     * Tokens of deleted users are not found.
+     *
+     * @param token the refresh token string
+     * @return Optional containing the RefreshToken if found
+     */
+    @Query("SELECT rt FROM RefreshToken rt JOIN FETCH rt.user WHERE rt.token = :token")
+    Optional<RefreshToken> findWithUserByToken(@Param("token") String token);
+
     /**
      * Find all refresh tokens for a specific user.
      *
@@ -1,18 +1,26 @@
 package com.portfolio.usermanagement.repository;
 
+import com.portfolio.usermanagement.dto.request.UserETag;
 import com.portfolio.usermanagement.entity.User;
+import com.portfolio.usermanagement.repository.projection.UserCredentials;
+import com.portfolio.usermanagement.repository.projection.UserView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, JpaSpecificationExecutor<User>, UserRepositoryCustom {
 
     Optional<User> findByUsername(String username);
 
@@ -22,12 +30,155 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     boolean existsByEmail(String email);
 
+    /**
+     * Whether any row holds the username, soft-deleted users included: the unique constraint
+     * still covers them until they are purged.
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM users WHERE username = :username)", nativeQuery = true)
+    boolean existsByUsernameIncludingDeleted(@Param("username") String username);
+
+    /**
+     * Page of list rows with role names aggregated per user: one statement for the rows plus
+     * the count, independent of page size. Grouping by the primary key lets PostgreSQL select
+     * and sort by any other user column.
+     */
+    @Query(value = "SELECT new com.portfolio.usermanagement.repository.projection.UserView(" +
+            "u.id, u.username, u.email, u.firstName, u.lastName, u.enabled, " +
+            "listagg(cast(r.name as String), ','), u.createdAt, u.updatedAt, u.version, u.roleMask) " +
+            "FROM User u LEFT JOIN u.roles r GROUP BY u.id",
+            countQuery = "SELECT count(u) FROM User u")
+    Page<UserView> findAllViews(Pageable pageable);
+
+    /**
+     * Single user as a read-only view: selects only the exposed columns and loads no entity,
+     * so nothing is kept for dirty checking. Same shape as {@link #findAllViews(Pageable)}.
+     */
+    @Query("SELECT new com.portfolio.usermanagement.repository.projection.UserView(" +
+            "u.id, u.username, u.email, u.firstName, u.lastName, u.enabled, " +
+            "listagg(cast(r.name as String), ','), u.createdAt, u.updatedAt, u.version, u.roleMask) " +
+            "FROM User u LEFT JOIN u.roles r WHERE u.id = :id GROUP BY u.id")
+    Optional<UserView> findViewById(@Param("id") UUID id);
+
+    @Query("SELECT new com.portfolio.usermanagement.repository.projection.UserView(" +
+            "u.id, u.username, u.email, u.firstName, u.lastName, u.enabled, " +
+            "listagg(cast(r.name as String), ','), u.createdAt, u.updatedAt, u.version, u.roleMask) " +
+            "FROM User u LEFT JOIN u.roles r WHERE u.username = :username GROUP BY u.id")
+    Optional<UserView> findViewByUsername(@Param("username") String username);
+
+    /**
+     * List rows of the given users, in no particular order. Pages found by another query
+     * (keyset, search, filters) select only ids and read their rows here, so a page costs
+     * the same two statements whatever its size.
+     */
+    @Query("SELECT new com.portfolio.usermanagement.repository.projection.UserView(" +
+            "u.id, u.username, u.email, u.firstName, u.lastName, u.enabled, " +
+            "listagg(cast(r.name as String), ','), u.createdAt, u.updatedAt, u.version, u.roleMask) " +
+            "FROM User u LEFT JOIN u.roles r WHERE u.id IN :ids GROUP BY u.id")
+    List<UserView> findViewsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Only the columns the user's entity tag is made of, for cheap revalidation.
+     */
+    @Query("SELECT new com.portfolio.usermanagement.dto.request.UserETag(u.version, u.roleMask) " +
+            "FROM User u WHERE u.username = :username")
+    Optional<UserETag> findETagByUsername(@Param("username") String username);
+
     @Query("SELECT u FROM User u WHERE u.enabled = :enabled")
     Page<User> findByEnabled(@Param("enabled") Boolean enabled, Pageable pageable);
 
-    @Query("SELECT u FROM User u JOIN u.roles r WHERE r.name = :roleName")
-    Page<User> findByRoleName(@Param("roleName") String roleName, Pageable pageable);
+    /**
+     * What authentication needs, read from the users row alone: no entity, no roles join.
+     */
+    @Query("SELECT new com.portfolio.usermanagement.repository.projection.UserCredentials(" +
+            "u.id, u.username, u.password, u.enabled, u.accountNonLocked, u.accountNonExpired, " +
+            "u.credentialsNonExpired, u.roleMask, u.sessionEpoch) FROM User u WHERE u.username = :username")
+    Optional<UserCredentials> findCredentialsByUsername(@Param("username") String username);
+
+    /**
+     * {@link #findCredentialsByUsername} for many users in one query.
+     */
+    @Query("SELECT new com.portfolio.usermanagement.repository.projection.UserCredentials(" +
+            "u.id, u.username, u.password, u.enabled, u.accountNonLocked, u.accountNonExpired, " +
+            "u.credentialsNonExpired, u.roleMask, u.sessionEpoch) FROM User u WHERE u.username IN :usernames")
+    List<UserCredentials> findCredentialsByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * Insert a new user and its single role link in one statement.
+     * Relies on the unique username/email indexes instead of separate existence checks:
+     * on conflict nothing is written and no id is returned. A soft-deleted user keeps its
+     * username and email until it is purged.
+     *
+     * @return the id of the inserted user, or empty if the username or email is taken
+     */
+    @Transactional
+    @Query(value = "WITH inserted AS (" +
+            "INSERT INTO users (id, username, email, password, first_name, last_name, enabled, " +
+            "account_non_locked, account_non_expired, credentials_non_expired, " +
+            "created_at, updated_at, created_by, modified_by) " +
+            "VALUES (:id, :username, :email, :password, :firstName, :lastName, TRUE, TRUE, TRUE, TRUE, " +
+            ":now, :now, :actor, :actor) " +
+            "ON CONFLICT DO NOTHING RETURNING id), " +
+            "role_link AS (INSERT INTO user_roles (user_id, role_id) SELECT id, :roleId FROM inserted) " +
+            "SELECT id FROM inserted",
+            nativeQuery = true)
+    Optional<UUID> insertIfAbsent(@Param("id") UUID id,
+                                  @Param("username") String username,
+                                  @Param("email") String email,
+                                  @Param("password") String password,
+                                  @Param("firstName") String firstName,
+                                  @Param("lastName") String lastName,
+                                  @Param("roleId") Long roleId,
+                                  @Param("now") LocalDateTime now,
+                                  @Param("actor") String actor);
+
+    /**
+     * Ids of a keyset page of users, newest first, strictly after the given position.
+     */
+    @Query(value = "SELECT u.id FROM users u " +
+            "WHERE u.deleted_at IS NULL AND (u.created_at, u.id) < (:createdAt, :id) " +
+            "ORDER BY u.created_at DESC, u.id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<UUID> findIdsPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                             @Param("id") UUID id,
+                             @Param("limit") int limit);
+
+    /**
+     * Ids of a keyset page of users matching the search pattern, newest first, strictly after
+     * the given position.
+     *
+     * @param pattern lower-cased LIKE pattern, see {@link #searchUserIds(String, String, Pageable)}
+     */
+    @Query(value = "SELECT u.id FROM users u " +
+            "WHERE (lower(u.username) LIKE :pattern ESCAPE '!' OR lower(u.email) LIKE :pattern ESCAPE '!') " +
+            "AND u.deleted_at IS NULL AND (u.created_at, u.id) < (:createdAt, :id) " +
+            "ORDER BY u.created_at DESC, u.id DESC LIMIT :limit",
+            nativeQuery = true)
+    List<UUID> searchIdsPageAfter(@Param("pattern") String pattern,
+                                  @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("id") UUID id,
+                                  @Param("limit") int limit);
+
+    /**
+     * Planner estimate of the row count, free compared to COUNT(*). Negative if never analyzed.
+     */
+    @Query(value = "SELECT reltuples::bigint FROM pg_class WHERE oid = 'users'::regclass", nativeQuery = true)
+    long estimateCount();
 
-    @Query("SELECT u FROM User u WHERE LOWER(u.username) LIKE LOWER(CONCAT('%', :search, '%')) OR LOWER(u.email) LIKE LOWER(CONCAT('%', :search, '%'))")
-    Page<User> searchUsers(@Param("search") String search, Pageable pageable);
+    /**
+     * Ids of a page of the substring search on username and email, best matches first.
+     * Served by the trigram indexes on lower(username) and lower(email).
+     *
+     * @param pattern lower-cased LIKE pattern with wildcards escaped by '!'
+     * @param term    lower-cased search term used for similarity ranking
+     */
+    @Query(value = "SELECT u.id FROM users u " +
+            "WHERE (lower(u.username) LIKE :pattern ESCAPE '!' OR lower(u.email) LIKE :pattern ESCAPE '!') " +
+            "AND u.deleted_at IS NULL " +
+            "ORDER BY greatest(similarity(lower(u.username), :term), similarity(lower(u.email), :term)) DESC, " +
+            "u.created_at DESC, u.id DESC",
+            countQuery = "SELECT count(*) FROM users u " +
+                    "WHERE (lower(u.username) LIKE :pattern ESCAPE '!' OR lower(u.email) LIKE :pattern ESCAPE '!') " +
+                    "AND u.deleted_at IS NULL",
+            nativeQuery = true)
+    Page<UUID> searchUserIds(@Param("pattern") String pattern, @Param("term") String term, Pageable pageable);
 }
@@ -0,0 +1,152 @@
+package com.portfolio.usermanagement.repository;
+
+import com.portfolio.usermanagement.dto.request.UserCursor;
+import com.portfolio.usermanagement.dto.request.UserETag;
+import com.portfolio.usermanagement.entity.User;
+import com.portfolio.usermanagement.repository.projection.DeletedUser;
+import com.portfolio.usermanagement.repository.projection.PatchedUser;
+import com.portfolio.usermanagement.repository.projection.UserView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Hand-written JDBC operations on users that don't fit a derived or annotated query.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Insert users and link each to the given role using one multi-row statement.
+     * Rows whose username or email already exists are skipped, not failed.
+     *
+     * @return usernames of the rows actually inserted
+     */
+    Set<String> insertAllIgnoringConflicts(List<User> users, Long roleId);
+
+    /**
+     * Walk every user in (created_at, id) order, one keyset chunk per read-only transaction.
+     * Rows are handed to the handler as they are fetched; columns are id, username, email,
+     * first_name, last_name, enabled, roles (comma separated), created_at, updated_at, version
+     * and role_mask.
+     *
+     * @param chunkSize rows per keyset query
+     * @param fetchSize rows per driver round trip
+     * @return number of rows visited
+     */
+    long scanInCreationOrder(int chunkSize, int fetchSize, RowCallbackHandler handler);
+
+    /**
+     * One keyset chunk of live users in (created_at, id) order, as list rows. Each call is a
+     * single statement outside any transaction, so no connection is held between chunks.
+     *
+     * @param after last row of the previous chunk, or null for the first chunk
+     */
+    List<UserView> findViewsInCreationOrder(UserView after, int limit);
+
+    /**
+     * Stream the users written at or after the given time, by any instance, deleted ones
+     * included. Columns are username, email and deleted (true for soft-deleted users).
+     */
+    void scanChangedSince(LocalDateTime since, RowCallbackHandler handler);
+
+    /**
+     * Set only the given columns of one user, plus updated_at and modified_by, with a single
+     * UPDATE ... RETURNING; the entity is never loaded.
+     *
+     * The version is incremented; with an expected tag the row is only written if its version
+     * and role mask still match, so a conditional request takes no lock beyond the update.
+     *
+     * @param columns column name to new value; only email, first_name and last_name are accepted
+     * @param expected tag the row must still have, or null for an unconditional update
+     * @return the updated row and its previous email, or empty when no row was written
+     */
+    Optional<PatchedUser> updateColumns(UUID id, Map<String, Object> columns, UserETag expected,
+                                        LocalDateTime updatedAt, String modifiedBy);
+
+    /**
+     * Soft-delete one user with a single statement: stamp deleted_at, disable the account,
+     * increment the version and the session epoch. With an expected tag the row is only
+     * written if its version and role mask still match.
+     *
+     * @return the deleted user, or empty when no live row was written
+     */
+    Optional<DeletedUser> markDeleted(UUID id, UserETag expected, LocalDateTime deletedAt, String modifiedBy);
+
+    /**
+     * Hard-delete up to {@code batchSize} users soft-deleted before the given time, together
+     * with their refresh tokens, role links, profiles and login attempts, in one statement.
+     * Rows locked by another purger are skipped.
+     *
+     * @return number of users purged
+     */
+    int purgeDeleted(LocalDateTime deletedBefore, int batchSize);
+
+    /**
+     * Ids of one page of the users matching the specification, in the page's sort order.
+     * Only ids are selected, so no user entity or role collection is loaded, and no count is
+     * run: one extra row is fetched to tell whether another page follows.
+     */
+    Slice<UUID> findIds(Specification<User> spec, Pageable pageable);
+
+    /**
+     * Positions of users matching the specification in (created_at, id) order, strictly after
+     * the given position, so the walk follows the idx_user_created_at_id index.
+     *
+     * @param after last position of the previous chunk, or null to start from the beginning
+     */
+    List<UserCursor> findPositionsAfter(Specification<User> spec, UserCursor after, int limit);
+
+    /**
+     * Lock the rows of the given users that are still live, in id order so concurrent
+     * bulk operations cannot deadlock. Must run inside a transaction.
+     *
+     * @return ids of the locked users
+     */
+    List<UUID> lockLive(Collection<UUID> ids);
+
+    /**
+     * Enable or disable the given users in one statement, skipping those already in that state.
+     *
+     * @param endSessions also increment the session epoch of every user changed
+     * @return number of users changed
+     */
+    int setEnabled(Collection<UUID> ids, boolean enabled, boolean endSessions,
+                   LocalDateTime updatedAt, String modifiedBy);
+
+    /**
+     * Link the role to every given live user lacking it. The role mask follows by trigger.
+     *
+     * @return number of links added
+     */
+    int addRole(Collection<UUID> ids, Long roleId);
+
+    /**
+     * Unlink the role from every given user holding it. The role mask follows by trigger.
+     *
+     * @return ids of the users that lost the role
+     */
+    List<UUID> removeRole(Collection<UUID> ids, Long roleId);
+
+    /**
+     * Invalidate every token issued so far to the given users with one UPDATE.
+     *
+     * @return number of users updated
+     */
+    int endSessions(Collection<UUID> ids);
+
+    /**
+     * Soft-delete the given live users in one statement, ending their sessions.
+     *
+     * @return the users deleted
+     */
+    List<DeletedUser> markAllDeleted(Collection<UUID> ids, LocalDateTime deletedAt, String modifiedBy);
+}
@@ -0,0 +1,381 @@
+package com.portfolio.usermanagement.repository;
+
+import com.portfolio.usermanagement.dto.request.UserCursor;
+import com.portfolio.usermanagement.dto.request.UserETag;
+import com.portfolio.usermanagement.entity.User;
+import com.portfolio.usermanagement.repository.projection.DeletedUser;
+import com.portfolio.usermanagement.repository.projection.PatchedUser;
+import com.portfolio.usermanagement.repository.projection.UserView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private static final String INSERT_USERS =
+            "WITH inserted AS (" +
+            "INSERT INTO users (id, username, email, password, first_name, last_name, enabled, " +
+            "account_non_locked, account_non_expired, credentials_non_expired, " +
+            "created_at, updated_at, created_by, modified_by) VALUES ";
+
+    private static final String USER_VALUES = "(?, ?, ?, ?, ?, ?, TRUE, TRUE, TRUE, TRUE, ?, ?, ?, ?)";
+
+    private static final String LINK_ROLES =
+            " ON CONFLICT DO NOTHING RETURNING id, username), " +
+            "role_link AS (INSERT INTO user_roles (user_id, role_id) SELECT id, ? FROM inserted) " +
+            "SELECT username FROM inserted";
+
+    private static final String SCAN_COLUMNS =
+            "SELECT u.id, u.username, u.email, u.first_name, u.last_name, u.enabled, " +
+            "(SELECT string_agg(r.name, ',' ORDER BY r.name) FROM user_roles ur " +
+            "JOIN roles r ON r.id = ur.role_id WHERE ur.user_id = u.id) AS roles, " +
+            "u.created_at, u.updated_at, u.version, u.role_mask FROM users u ";
+
+    private static final String SCAN_FIRST = SCAN_COLUMNS +
+            "WHERE u.deleted_at IS NULL ORDER BY u.created_at, u.id LIMIT ?";
+
+    private static final String SCAN_AFTER = SCAN_COLUMNS +
+            "WHERE u.deleted_at IS NULL AND (u.created_at, u.id) > (?, ?) ORDER BY u.created_at, u.id LIMIT ?";
+
+    private static final String SCAN_CHANGED =
+            "SELECT u.username, u.email, u.deleted_at IS NOT NULL AS deleted FROM users u WHERE u.updated_at >= ?";
+
+    private static final RowMapper<UserView> USER_VIEW = (rs, rowNum) -> new UserView(
+            rs.getObject("id", UUID.class),
+            rs.getString("username"),
+            rs.getString("email"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getBoolean("enabled"),
+            rs.getString("roles"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class),
+            rs.getLong("version"),
+            rs.getInt("role_mask"));
+
+    private static final RowMapper<DeletedUser> DELETED_USER = (rs, rowNum) -> new DeletedUser(
+            rs.getObject("id", UUID.class),
+            rs.getString("username"),
+            rs.getString("email"));
+
+    private static final Set<String> PATCHABLE_COLUMNS = Set.of("email", "first_name", "last_name");
+
+    // The self-join keeps the pre-update email available to RETURNING
+    private static final String PATCH_FROM =
+            " FROM (SELECT id, email FROM users WHERE id = ? AND deleted_at IS NULL FOR UPDATE) previous " +
+            "WHERE u.id = previous.id";
+
+    private static final String PATCH_EXPECTED = " AND u.version = ? AND u.role_mask = ?";
+
+    private static final String PATCH_RETURNING =
+            " RETURNING u.id, u.username, u.email, u.first_name, u.last_name, u.enabled, " +
+            "(SELECT string_agg(r.name, ',' ORDER BY r.name) FROM user_roles ur " +
+            "JOIN roles r ON r.id = ur.role_id WHERE ur.user_id = u.id) AS roles, " +
+            "u.created_at, u.updated_at, u.version, u.role_mask, previous.email AS previous_email";
+
+    // Bumping the session epoch in the same statement ends the user's sessions at once
+    private static final String MARK_DELETED =
+            "UPDATE users u SET deleted_at = ?, enabled = FALSE, updated_at = ?, modified_by = ?, " +
+            "version = u.version + 1, session_epoch = u.session_epoch + 1 " +
+            "WHERE u.id = ? AND u.deleted_at IS NULL%s RETURNING u.id, u.username, u.email";
+
+    private static final String LOCK_LIVE =
+            "SELECT id FROM users WHERE id = ANY(?) AND deleted_at IS NULL ORDER BY id FOR UPDATE";
+
+    private static final String SET_ENABLED =
+            "UPDATE users SET enabled = ?, updated_at = ?, modified_by = ?, version = version + 1%s " +
+            "WHERE id = ANY(?) AND deleted_at IS NULL AND enabled <> ?";
+
+    private static final String END_SESSIONS = ", session_epoch = session_epoch + 1";
+
+    private static final String ADD_ROLE =
+            "INSERT INTO user_roles (user_id, role_id) " +
+            "SELECT id, ? FROM users WHERE id = ANY(?) AND deleted_at IS NULL ON CONFLICT DO NOTHING";
+
+    private static final String REMOVE_ROLE =
+            "DELETE FROM user_roles WHERE role_id = ? AND user_id = ANY(?) RETURNING user_id";
+
+    private static final String BUMP_SESSION_EPOCH =
+            "UPDATE users SET session_epoch = session_epoch + 1 WHERE id = ANY(?)";
+
+    private static final String MARK_ALL_DELETED =
+            "UPDATE users SET deleted_at = ?, enabled = FALSE, updated_at = ?, modified_by = ?, " +
+            "version = version + 1, session_epoch = session_epoch + 1 " +
+            "WHERE id = ANY(?) AND deleted_at IS NULL RETURNING id, username, email";
+
+    // Dependent rows go first and explicitly: login_attempts has no foreign key to cascade
+    // along, and the cascades from users then find nothing left to do
+    private static final String PURGE_DELETED =
+            "WITH batch AS (" +
+            "SELECT id, username FROM users WHERE deleted_at < ? " +
+            "ORDER BY deleted_at LIMIT ? FOR UPDATE SKIP LOCKED), " +
+            "tokens AS (DELETE FROM refresh_tokens t USING batch b WHERE t.user_id = b.id), " +
+            "links AS (DELETE FROM user_roles ur USING batch b WHERE ur.user_id = b.id), " +
+            "user_profiles AS (DELETE FROM profiles p USING batch b WHERE p.user_id = b.id), " +
+            "attempts AS (DELETE FROM login_attempts a USING batch b WHERE a.username = b.username), " +
+            "purged AS (DELETE FROM users u USING batch b WHERE u.id = b.id RETURNING u.id) " +
+            "SELECT count(*) FROM purged";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+
+    @Override
+    public Set<String> insertAllIgnoringConflicts(List<User> users, Long roleId) {
+        if (users.isEmpty()) {
+            return Set.of();
+        }
+
+        StringBuilder sql = new StringBuilder(INSERT_USERS.length() + users.size() * (USER_VALUES.length() + 2) + LINK_ROLES.length());
+        sql.append(INSERT_USERS);
+        List<Object> args = new ArrayList<>(users.size() * 10 + 1);
+
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(USER_VALUES);
+            args.add(user.getId());
+            args.add(user.getUsername());
+            args.add(user.getEmail());
+            args.add(user.getPassword());
+            args.add(user.getFirstName());
+            args.add(user.getLastName());
+            args.add(user.getCreatedAt());
+            args.add(user.getUpdatedAt());
+            args.add(user.getCreatedBy());
+            args.add(user.getModifiedBy());
+        }
+        sql.append(LINK_ROLES);
+        args.add(roleId);
+
+        return new HashSet<>(jdbcTemplate.queryForList(sql.toString(), String.class, args.toArray()));
+    }
+
+    @Override
+    public long scanInCreationOrder(int chunkSize, int fetchSize, RowCallbackHandler handler) {
+        // A dedicated template so the driver honours the fetch size (it needs autocommit off)
+        JdbcTemplate scanTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        scanTemplate.setFetchSize(fetchSize);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        KeysetPosition position = new KeysetPosition();
+        long total = 0;
+        int rows;
+        do {
+            position.rowsInChunk = 0;
+            readOnly.executeWithoutResult(status -> {
+                RowCallbackHandler tracking = rs -> {
+                    handler.processRow(rs);
+                    position.createdAt = rs.getObject("created_at", LocalDateTime.class);
+                    position.id = rs.getObject("id", UUID.class);
+                    position.rowsInChunk++;
+                };
+                if (position.id == null) {
+                    scanTemplate.query(SCAN_FIRST, tracking, chunkSize);
+                } else {
+                    scanTemplate.query(SCAN_AFTER, tracking, position.createdAt, position.id, chunkSize);
+                }
+            });
+            rows = position.rowsInChunk;
+            total += rows;
+        } while (rows == chunkSize);
+        return total;
+    }
+
+    @Override
+    public List<UserView> findViewsInCreationOrder(UserView after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(SCAN_FIRST, USER_VIEW, limit);
+        }
+        return jdbcTemplate.query(SCAN_AFTER, USER_VIEW, after.createdAt(), after.id(), limit);
+    }
+
+    @Override
+    public void scanChangedSince(LocalDateTime since, RowCallbackHandler handler) {
+        jdbcTemplate.query(SCAN_CHANGED, handler, since);
+    }
+
+    @Override
+    public Optional<PatchedUser> updateColumns(UUID id, Map<String, Object> columns, UserETag expected,
+                                               LocalDateTime updatedAt, String modifiedBy) {
+        StringBuilder sql = new StringBuilder("UPDATE users u SET ");
+        List<Object> args = new ArrayList<>(columns.size() + 3);
+        columns.forEach((column, value) -> {
+            if (!PATCHABLE_COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Column cannot be patched: " + column);
+            }
+            sql.append(column).append(" = ?, ");
+            args.add(value);
+        });
+        sql.append("updated_at = ?, modified_by = ?, version = u.version + 1").append(PATCH_FROM);
+        args.add(updatedAt);
+        args.add(modifiedBy);
+        args.add(id);
+        if (expected != null) {
+            sql.append(PATCH_EXPECTED);
+            args.add(expected.version());
+            args.add(expected.roleMask());
+        }
+        sql.append(PATCH_RETURNING);
+
+        List<PatchedUser> rows = jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new PatchedUser(
+                USER_VIEW.mapRow(rs, rowNum), rs.getString("previous_email")), args.toArray());
+        return rows.stream().findFirst();
+    }
+
+    @Override
+    public Optional<DeletedUser> markDeleted(UUID id, UserETag expected, LocalDateTime deletedAt, String modifiedBy) {
+        List<Object> args = new ArrayList<>(6);
+        args.add(deletedAt);
+        args.add(deletedAt);
+        args.add(modifiedBy);
+        args.add(id);
+        if (expected != null) {
+            args.add(expected.version());
+            args.add(expected.roleMask());
+        }
+        String sql = String.format(MARK_DELETED, expected != null ? PATCH_EXPECTED : "");
+        return jdbcTemplate.query(sql, DELETED_USER, args.toArray()).stream().findFirst();
+    }
+
+    @Override
+    public Slice<UUID> findIds(Specification<User> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> query = cb.createQuery(UUID.class);
+        Root<User> root = query.from(User.class);
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(root.<UUID>get("id")).orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        TypedQuery<UUID> page = entityManager.createQuery(query);
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(page.getResultList(), pageable, false);
+        }
+        List<UUID> ids = page.setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = ids.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? ids.subList(0, pageable.getPageSize()) : ids, pageable, hasNext);
+    }
+
+    @Override
+    public List<UserCursor> findPositionsAfter(Specification<User> spec, UserCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserCursor> query = cb.createQuery(UserCursor.class);
+        Root<User> root = query.from(User.class);
+        Path<LocalDateTime> createdAt = root.get("createdAt");
+        Path<UUID> id = root.get("id");
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (after != null) {
+            // The leading bound is redundant but gives the index scan its start key
+            Predicate afterPosition = cb.and(
+                    cb.greaterThanOrEqualTo(createdAt, after.createdAt()),
+                    cb.or(cb.greaterThan(createdAt, after.createdAt()),
+                            cb.and(cb.equal(createdAt, after.createdAt()), cb.greaterThan(id, after.id()))));
+            predicate = predicate != null ? cb.and(predicate, afterPosition) : afterPosition;
+        }
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.select(cb.construct(UserCursor.class, createdAt, id)).orderBy(cb.asc(createdAt), cb.asc(id));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public List<UUID> lockLive(Collection<UUID> ids) {
+        return jdbcTemplate.query(LOCK_LIVE, ps -> ps.setArray(1, uuidArray(ps, ids)),
+                (rs, rowNum) -> rs.getObject("id", UUID.class));
+    }
+
+    @Override
+    public int setEnabled(Collection<UUID> ids, boolean enabled, boolean endSessions,
+                          LocalDateTime updatedAt, String modifiedBy) {
+        return jdbcTemplate.update(String.format(SET_ENABLED, endSessions ? END_SESSIONS : ""), ps -> {
+            ps.setBoolean(1, enabled);
+            ps.setObject(2, updatedAt);
+            ps.setString(3, modifiedBy);
+            ps.setArray(4, uuidArray(ps, ids));
+            ps.setBoolean(5, enabled);
+        });
+    }
+
+    @Override
+    public int addRole(Collection<UUID> ids, Long roleId) {
+        return jdbcTemplate.update(ADD_ROLE, ps -> {
+            ps.setLong(1, roleId);
+            ps.setArray(2, uuidArray(ps, ids));
+        });
+    }
+
+    @Override
+    public List<UUID> removeRole(Collection<UUID> ids, Long roleId) {
+        return jdbcTemplate.query(REMOVE_ROLE, ps -> {
+            ps.setLong(1, roleId);
+            ps.setArray(2, uuidArray(ps, ids));
+        }, (rs, rowNum) -> rs.getObject("user_id", UUID.class));
+    }
+
+    @Override
+    public int endSessions(Collection<UUID> ids) {
+        return jdbcTemplate.update(BUMP_SESSION_EPOCH, ps -> ps.setArray(1, uuidArray(ps, ids)));
+    }
+
+    @Override
+    public List<DeletedUser> markAllDeleted(Collection<UUID> ids, LocalDateTime deletedAt, String modifiedBy) {
+        return jdbcTemplate.query(MARK_ALL_DELETED, ps -> {
+            ps.setObject(1, deletedAt);
+            ps.setObject(2, deletedAt);
+            ps.setString(3, modifiedBy);
+            ps.setArray(4, uuidArray(ps, ids));
+        }, DELETED_USER);
+    }
+
+    @Override
+    public int purgeDeleted(LocalDateTime deletedBefore, int batchSize) {
+        Integer purged = jdbcTemplate.queryForObject(PURGE_DELETED, Integer.class, deletedBefore, batchSize);
+        return purged != null ? purged : 0;
+    }
+
+    private static Array uuidArray(PreparedStatement ps, Collection<UUID> ids) throws SQLException {
+        return ps.getConnection().createArrayOf("uuid", ids.toArray());
+    }
+
+    private static final class KeysetPosition {
+        private LocalDateTime createdAt;
+        private UUID id;
+        private int rowsInChunk;
+    }
+}
@@ -0,0 +1,52 @@
+package com.portfolio.usermanagement.repository;
+
+import com.portfolio.usermanagement.entity.Role;
+import com.portfolio.usermanagement.entity.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Building blocks for filtered user queries.
+ * Each predicate targets an indexed column so combined filters stay index-friendly.
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> isEnabled(boolean enabled) {
+        return (root, query, cb) -> cb.equal(root.get("enabled"), enabled);
+    }
+
+    /**
+     * Users holding the role, tested on the role mask so no join to user_roles is needed.
+     * Both the bit and the zero are SQL literals: only {@code (role_mask & 2) <> 0} as written,
+     * not a bound parameter, lets PostgreSQL use the admin and moderator partial indexes.
+     */
+    public static Specification<User> hasRole(Role.RoleName roleName) {
+        return (root, query, cb) -> cb.notEqual(
+                cb.function("bitand", Integer.class, root.get("roleMask"), cb.literal(roleName.bit())), cb.literal(0));
+    }
+
+    public static Specification<User> createdOnOrAfter(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<User> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("createdAt"), to);
+    }
+
+    public static Specification<User> emailDomain(String domain) {
+        return (root, query, cb) -> cb.equal(root.get("emailDomain"), domain.trim().toLowerCase(Locale.ROOT));
+    }
+
+    public static Specification<User> namePrefix(String prefix) {
+        String escaped = prefix.trim().toLowerCase(Locale.ROOT)
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return (root, query, cb) -> cb.like(root.get("searchName"), escaped + "%", '!');
+    }
+}
@@ -0,0 +1,9 @@
+package com.portfolio.usermanagement.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Identity of a user as it was when soft-deleted.
+ */
+public record DeletedUser(UUID id, String username, String email) {
+}
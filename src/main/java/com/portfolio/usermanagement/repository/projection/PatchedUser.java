@@ -0,0 +1,7 @@
+package com.portfolio.usermanagement.repository.projection;
+
+/**
+ * Result of a partial user update: the row as written and the email it replaced.
+ */
+public record PatchedUser(UserView user, String previousEmail) {
+}
@@ -0,0 +1,19 @@
+package com.portfolio.usermanagement.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Login-relevant columns of a user, with role membership as the denormalized role mask.
+ */
+public record UserCredentials(
+        UUID id,
+        String username,
+        String password,
+        Boolean enabled,
+        Boolean accountNonLocked,
+        Boolean accountNonExpired,
+        Boolean credentialsNonExpired,
+        int roleMask,
+        int sessionEpoch
+) {
+}
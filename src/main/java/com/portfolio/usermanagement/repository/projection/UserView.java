@@ -0,0 +1,50 @@
+package com.portfolio.usermanagement.repository.projection;
+
+import com.portfolio.usermanagement.dto.request.UserETag;
+import com.portfolio.usermanagement.dto.response.UserResponse;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Read-only row of the user list: the columns exposed by {@link UserResponse} with the
+ * user's role names already aggregated by the database into one comma-separated string.
+ */
+public record UserView(
+        UUID id,
+        String username,
+        String email,
+        String firstName,
+        String lastName,
+        Boolean enabled,
+        String roles,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version,
+        int roleMask
+) {
+
+    public UserETag etag() {
+        return new UserETag(version, roleMask);
+    }
+
+    public UserResponse toResponse() {
+        Set<String> roleNames = roles == null || roles.isEmpty()
+                ? new HashSet<>()
+                : new HashSet<>(Arrays.asList(roles.split(",")));
+        return UserResponse.builder()
+                .id(id)
+                .username(username)
+                .email(email)
+                .firstName(firstName)
+                .lastName(lastName)
+                .enabled(enabled)
+                .roles(roleNames)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,282 @@
+package com.portfolio.usermanagement.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Set of lower-cased keys answering "all keys starting with" queries.
+ * <p>
+ * Bulk-loaded keys live in one sorted array of UTF-8 byte strings, roughly key length plus
+ * 20 bytes per key. Later additions go to a sorted delta set and removals to a tombstone set,
+ * each stamped with a write sequence number; both are folded back into the array once they
+ * grow past an eighth of it. Readers never block: they work on whichever state was current
+ * when the query started. Writers are serialised by a lock.
+ */
+public class PrefixIndex {
+
+    private static final int MIN_COMPACTION_THRESHOLD = 1024;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile State state = new State(new byte[0][]);
+
+    /**
+     * Sequence number of the last change. Guarded by {@link #writeLock}.
+     */
+    private long sequence;
+
+    /**
+     * Mark of the oldest builder not yet loaded, or -1. Compaction waits for it, since it would
+     * fold changes the pending load must carry over into a base the load then replaces.
+     * Guarded by {@link #writeLock}.
+     */
+    private long pendingMark = -1;
+
+    /**
+     * Guarded by {@link #writeLock}.
+     */
+    private boolean loaded;
+
+    /**
+     * Replace the bulk-loaded keys with keys that are current now. Pending changes are dropped.
+     */
+    public void load(Collection<String> keys) {
+        Builder builder = builder();
+        keys.forEach(builder::add);
+        load(builder);
+    }
+
+    /**
+     * Start collecting keys for {@link #load(Builder)}. Take the builder before the scan that
+     * fills it: changes recorded from then on are kept by the load, since the scan may have
+     * missed them, while older ones are dropped, since the scan saw their outcome.
+     */
+    public Builder builder() {
+        writeLock.lock();
+        try {
+            if (pendingMark < 0) {
+                pendingMark = sequence;
+            }
+            return new Builder(sequence);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replace the bulk-loaded keys with those collected in the builder, which holds them in
+     * their compact form from the start.
+     */
+    public void load(Builder keys) {
+        long mark = keys.mark;
+        byte[][] base = keys.build();
+
+        writeLock.lock();
+        try {
+            State current = state;
+            State next = new State(base);
+            current.additions.forEach((key, changed) -> {
+                if (changed > mark && !next.baseContains(key)) {
+                    next.additions.put(key, changed);
+                }
+            });
+            current.removals.forEach((key, changed) -> {
+                if (changed > mark && next.baseContains(key)) {
+                    next.removals.put(key, changed);
+                }
+            });
+            state = next;
+            loaded = true;
+            pendingMark = -1;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void add(String key) {
+        String normalized = normalize(key);
+        writeLock.lock();
+        try {
+            State current = state;
+            long changed = ++sequence;
+            current.removals.remove(normalized);
+            if (!current.baseContains(normalized)) {
+                current.additions.put(normalized, changed);
+            }
+            compactIfNeeded(current);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public void remove(String key) {
+        String normalized = normalize(key);
+        writeLock.lock();
+        try {
+            State current = state;
+            long changed = ++sequence;
+            current.additions.remove(normalized);
+            // Until the first load, the key may still arrive with the bulk-loaded keys
+            if (!loaded || current.baseContains(normalized)) {
+                current.removals.put(normalized, changed);
+            }
+            compactIfNeeded(current);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Keys starting with the given prefix, in ascending order.
+     */
+    public List<String> search(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        State current = state;
+        NavigableSet<String> matches = new TreeSet<>();
+
+        byte[] prefixBytes = normalized.getBytes(StandardCharsets.UTF_8);
+        for (int i = current.lowerBound(prefixBytes); i < current.base.length && matches.size() < limit; i++) {
+            byte[] candidate = current.base[i];
+            if (!startsWith(candidate, prefixBytes)) {
+                break;
+            }
+            String key = new String(candidate, StandardCharsets.UTF_8);
+            if (!current.removals.containsKey(key)) {
+                matches.add(key);
+            }
+        }
+
+        int fromDelta = 0;
+        for (String key : current.additions.tailMap(normalized).keySet()) {
+            if (!key.startsWith(normalized) || fromDelta++ == limit) {
+                break;
+            }
+            matches.add(key);
+        }
+
+        List<String> result = new ArrayList<>(Math.min(limit, matches.size()));
+        for (String key : matches) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(key);
+        }
+        return result;
+    }
+
+    /**
+     * Number of keys; approximate until the first load.
+     */
+    public int size() {
+        State current = state;
+        return Math.max(0, current.base.length - current.removals.size()) + current.additions.size();
+    }
+
+    private void compactIfNeeded(State current) {
+        int pending = current.additions.size() + current.removals.size();
+        if (!loaded || pendingMark >= 0 || pending < Math.max(MIN_COMPACTION_THRESHOLD, current.base.length / 8)) {
+            return;
+        }
+        List<byte[]> merged = new ArrayList<>(current.base.length + current.additions.size());
+        for (byte[] key : current.base) {
+            if (!current.removals.containsKey(new String(key, StandardCharsets.UTF_8))) {
+                merged.add(key);
+            }
+        }
+        for (String key : current.additions.keySet()) {
+            merged.add(key.getBytes(StandardCharsets.UTF_8));
+        }
+        merged.sort(Arrays::compareUnsigned);
+        state = new State(merged.toArray(byte[][]::new));
+    }
+
+    private static String normalize(String key) {
+        return key.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean startsWith(byte[] key, byte[] prefix) {
+        return key.length >= prefix.length
+                && Arrays.equals(key, 0, prefix.length, prefix, 0, prefix.length);
+    }
+
+    /**
+     * Collects keys for {@link #load(Builder)} as UTF-8 byte strings, so a bulk load never
+     * holds more than the sorted array it produces plus the spare room of a growing array.
+     */
+    public static final class Builder {
+
+        private final long mark;
+        private byte[][] keys = new byte[1024][];
+        private int size;
+
+        private Builder(long mark) {
+            this.mark = mark;
+        }
+
+        public void add(String key) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size + (size >> 1));
+            }
+            keys[size++] = normalize(key).getBytes(StandardCharsets.UTF_8);
+        }
+
+        /**
+         * The keys sorted with duplicates dropped; the builder is spent afterwards.
+         */
+        private byte[][] build() {
+            byte[][] sorted = keys;
+            keys = null;
+            Arrays.sort(sorted, 0, size, Arrays::compareUnsigned);
+            int distinct = 0;
+            for (int i = 0; i < size; i++) {
+                if (distinct == 0 || !Arrays.equals(sorted[distinct - 1], sorted[i])) {
+                    sorted[distinct++] = sorted[i];
+                }
+            }
+            return Arrays.copyOf(sorted, distinct);
+        }
+    }
+
+    private static final class State {
+        private final byte[][] base;
+        private final ConcurrentSkipListMap<String, Long> additions = new ConcurrentSkipListMap<>();
+        private final Map<String, Long> removals = new ConcurrentHashMap<>();
+
+        private State(byte[][] base) {
+            this.base = base;
+        }
+
+        private boolean baseContains(String key) {
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            int index = lowerBound(bytes);
+            return index < base.length && Arrays.equals(base[index], bytes);
+        }
+
+        /**
+         * Index of the first key not less than the given one.
+         */
+        private int lowerBound(byte[] key) {
+            int low = 0;
+            int high = base.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (Arrays.compareUnsigned(base[mid], key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
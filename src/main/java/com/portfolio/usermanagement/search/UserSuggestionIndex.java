@@ -0,0 +1,109 @@
+package com.portfolio.usermanagement.search;
+
+import com.portfolio.usermanagement.event.UserChangedEvent;
+import com.portfolio.usermanagement.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * In-memory index of usernames and emails for type-ahead suggestions.
+ * Loaded once the application is ready from a streaming scan of the users table, then kept
+ * current from {@link UserChangedEvent}s after their transaction commits, and from a poll for
+ * users written by other instances every {@code app.suggest.refresh-ms}. The poll sees users
+ * created, deleted or changed elsewhere, but not the email a user had before a change made
+ * elsewhere; those linger until the full reload every {@code app.suggest.reload-ms}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSuggestionIndex {
+
+    private static final int SCAN_CHUNK_SIZE = 10_000;
+    private static final int SCAN_FETCH_SIZE = 1_000;
+    // Covers clock skew between instances and transactions committing after their updated_at
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    private final UserRepository userRepository;
+    private final PrefixIndex index = new PrefixIndex();
+
+    private volatile LocalDateTime lastPoll;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        LocalDateTime scanStart = LocalDateTime.now();
+        PrefixIndex.Builder keys = index.builder();
+        userRepository.scanInCreationOrder(SCAN_CHUNK_SIZE, SCAN_FETCH_SIZE, rs -> {
+            keys.add(rs.getString("username"));
+            keys.add(rs.getString("email"));
+        });
+        index.load(keys);
+        if (lastPoll == null) {
+            lastPoll = scanStart;
+        }
+        log.info("User suggestion index loaded with {} keys in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Rebuild from the table, dropping keys that polling cannot see go away.
+     */
+    @Scheduled(fixedDelayString = "${app.suggest.reload-ms:3600000}", initialDelayString = "${app.suggest.reload-ms:3600000}")
+    public void reload() {
+        load();
+    }
+
+    /**
+     * Apply users written since the previous poll, by this or any other instance.
+     */
+    @Scheduled(fixedDelayString = "${app.suggest.refresh-ms:30000}", initialDelayString = "${app.suggest.refresh-ms:30000}")
+    public void refresh() {
+        LocalDateTime since = lastPoll;
+        if (since == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        userRepository.scanChangedSince(since.minus(POLL_OVERLAP), rs -> {
+            if (rs.getBoolean("deleted")) {
+                index.remove(rs.getString("username"));
+                index.remove(rs.getString("email"));
+            } else {
+                index.add(rs.getString("username"));
+                index.add(rs.getString("email"));
+            }
+        });
+        lastPoll = now;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.previousUsername() != null) {
+            index.remove(event.previousUsername());
+        }
+        if (event.previousEmail() != null) {
+            index.remove(event.previousEmail());
+        }
+        if (event.username() != null) {
+            index.add(event.username());
+        }
+        if (event.email() != null) {
+            index.add(event.email());
+        }
+    }
+
+    /**
+     * Usernames and emails starting with the prefix, case-insensitive, in ascending order.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        return index.search(prefix, limit);
+    }
+}
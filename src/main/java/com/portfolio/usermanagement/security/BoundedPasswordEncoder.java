@@ -0,0 +1,147 @@
+package com.portfolio.usermanagement.security;
+
+import com.portfolio.usermanagement.exception.ServiceUnavailableException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs a CPU-heavy {@link PasswordEncoder} on a fixed pool of {@code threads} platform threads.
+ * <p>
+ * A BCrypt check takes hundreds of milliseconds of CPU. Left on the request thread, a burst of
+ * logins runs as many hashes at once as there are request threads (on virtual threads, as many
+ * as there are carriers, leaving none for other requests). Here the callers wait, without
+ * holding a carrier, while at most {@code threads} hashes run, so other requests keep being
+ * served during a login burst.
+ * <p>
+ * At most {@code queueCapacity} hashes wait for a thread, and a caller waits at most
+ * {@code timeout} for its hash. Past either limit the caller gets a
+ * {@link ServiceUnavailableException} (503) instead of an ever longer wait.
+ * <p>
+ * Bulk work goes through {@link #background()}, which never has more than half the threads'
+ * worth of hashes in the pool, so a login arriving during an import waits behind at most
+ * that many hashes rather than a whole import batch.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor pool;
+    private final long timeoutNanos;
+    private final PasswordEncoder background;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout) {
+        this.delegate = delegate;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.timeoutNanos = timeout.toNanos();
+        this.background = new BackgroundEncoder(new Semaphore(Math.max(1, threads / 2)));
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return call(() -> delegate.encode(rawPassword), true);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return call(() -> delegate.matches(rawPassword, encodedPassword), true);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * This encoder for bulk work such as imports. Callers queue for a share of the pool
+     * without a timeout: bulk work is slowed down by logins, never failed by them.
+     */
+    public PasswordEncoder background() {
+        return background;
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private <T> T call(Supplier<T> task, boolean timed) {
+        Future<T> future;
+        try {
+            future = pool.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many password checks in progress", RETRY_AFTER_SECONDS);
+        }
+        try {
+            return timed ? future.get(timeoutNanos, TimeUnit.NANOSECONDS) : future.get();
+        } catch (TimeoutException e) {
+            // Free the queue slot now if the hash never started
+            future.cancel(true);
+            pool.remove((Runnable) future);
+            throw new ServiceUnavailableException("Password check timed out", RETRY_AFTER_SECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing a password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private final class BackgroundEncoder implements PasswordEncoder {
+
+        private final Semaphore permits;
+
+        private BackgroundEncoder(Semaphore permits) {
+            this.permits = permits;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return withPermit(() -> delegate.encode(rawPassword));
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return withPermit(() -> delegate.matches(rawPassword, encodedPassword));
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return delegate.upgradeEncoding(encodedPassword);
+        }
+
+        private <T> T withPermit(Supplier<T> task) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to hash a password", e);
+            }
+            try {
+                return call(task, false);
+            } finally {
+                permits.release();
+            }
+        }
+    }
+}
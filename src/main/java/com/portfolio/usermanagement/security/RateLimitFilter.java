@@ -25,10 +25,23 @@ public class RateLimitFilter extends OncePerRequestFilter {
 
     private static final int MAX_REQUESTS_PER_MINUTE = 60;
 
+    private static final String INTROSPECT_PATH = "/api/auth/introspect";
+
     private final RateLimitService rateLimitService;
+    private final TokenIntrospectionService tokenIntrospectionService;
 
-    public RateLimitFilter(RateLimitService rateLimitService) {
+    public RateLimitFilter(RateLimitService rateLimitService, TokenIntrospectionService tokenIntrospectionService) {
         this.rateLimitService = rateLimitService;
+        this.tokenIntrospectionService = tokenIntrospectionService;
+    }
+
+    /**
+     * Trusted services introspecting tokens for a whole gateway are not limited per IP.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return INTROSPECT_PATH.equals(request.getRequestURI())
+                && tokenIntrospectionService.isTrustedCaller(request.getHeader(TokenIntrospectionService.KEY_HEADER));
     }
 
     @Override
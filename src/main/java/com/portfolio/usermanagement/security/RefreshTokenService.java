@@ -68,6 +68,7 @@ public class RefreshTokenService {
                 .expiryDate(Instant.now().plus(Duration.ofMillis(refreshTokenDurationMs)))
                 .createdFromIp(ipAddress)
                 .revoked(false)
+                .sessionEpoch(user.getSessionEpoch())
                 .build();
 
         refreshToken = refreshTokenRepository.save(refreshToken);
@@ -85,7 +86,7 @@ public class RefreshTokenService {
      * @throws UnauthorizedException if token is invalid
      */
     public RefreshToken verifyRefreshToken(String token) {
-        RefreshToken refreshToken = refreshTokenRepository.findByToken(token)
+        RefreshToken refreshToken = refreshTokenRepository.findWithUserByToken(token)
                 .orElseThrow(() -> new UnauthorizedException(
                         "Invalid refresh token",
                         ErrorCode.INVALID_TOKEN
@@ -94,7 +95,7 @@ public class RefreshTokenService {
         if (refreshToken.isExpired()) {
             // Delete expired token
             refreshTokenRepository.delete(refreshToken);
-            logger.warn("Refresh token expired for user: {}", refreshToken.getUser().getUsername());
+            logger.warn("Refresh token expired for user: {}", refreshToken.getUser().getId());
             throw new UnauthorizedException(
                     "Refresh token has expired. Please log in again.",
                     ErrorCode.TOKEN_EXPIRED
@@ -103,7 +104,16 @@ public class RefreshTokenService {
 
         if (Boolean.TRUE.equals(refreshToken.getRevoked())) {
             logger.warn("Attempted to use revoked refresh token for user: {}",
-                    refreshToken.getUser().getUsername());
+                    refreshToken.getUser().getId());
+            throw new UnauthorizedException(
+                    "Refresh token has been revoked",
+                    ErrorCode.INVALID_TOKEN
+            );
+        }
+
+        if (refreshToken.getSessionEpoch() != refreshToken.getUser().getSessionEpoch()) {
+            logger.warn("Attempted to use refresh token from a revoked session for user: {}",
+                    refreshToken.getUser().getId());
             throw new UnauthorizedException(
                     "Refresh token has been revoked",
                     ErrorCode.INVALID_TOKEN
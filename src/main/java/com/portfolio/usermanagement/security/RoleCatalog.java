@@ -0,0 +1,89 @@
+package com.portfolio.usermanagement.security;
+
+import com.portfolio.usermanagement.entity.Role;
+import com.portfolio.usermanagement.event.RolesChangedEvent;
+import com.portfolio.usermanagement.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory copy of the roles table, indexed by {@link Role.RoleName#ordinal()}.
+ * <p>
+ * Roles are seeded by migration and change rarely, so lookups by name are served from an
+ * immutable snapshot instead of a query. Writes to the table (see {@link RolesChangedEvent})
+ * mark the snapshot stale once their transaction commits; the next lookup reloads it.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoleCatalog {
+
+    private final RoleRepository roleRepository;
+    // A lock rather than synchronized: a virtual thread blocked on the query inside a monitor pins its carrier
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    private volatile Entry[] entries = new Entry[0];
+    private volatile boolean stale = true;
+
+    @PostConstruct
+    void init() {
+        refresh();
+    }
+
+    public Long idOf(Role.RoleName name) {
+        return entry(name).id();
+    }
+
+    /**
+     * A fresh, unmanaged {@link Role} carrying the id, name and description of the role.
+     * Use it for in-memory users; to link a role to a user being persisted, load the role in
+     * the persisting transaction.
+     */
+    public Role detached(Role.RoleName name) {
+        Entry entry = entry(name);
+        Role role = new Role(entry.name(), entry.description());
+        role.setId(entry.id());
+        return role;
+    }
+
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            // Cleared first so a change committed while loading triggers another reload
+            stale = false;
+            Entry[] loaded = new Entry[Role.RoleName.values().length];
+            for (Role role : roleRepository.findAll()) {
+                loaded[role.getName().ordinal()] = new Entry(role.getId(), role.getName(), role.getDescription());
+            }
+            entries = loaded;
+            log.debug("Role catalog loaded");
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRolesChanged(RolesChangedEvent event) {
+        stale = true;
+    }
+
+    private Entry entry(Role.RoleName name) {
+        if (stale) {
+            refresh();
+        }
+        Entry entry = entries[name.ordinal()];
+        if (entry == null) {
+            throw new IllegalStateException(name + " not found in database");
+        }
+        return entry;
+    }
+
+    private record Entry(Long id, Role.RoleName name, String description) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.portfolio.usermanagement.security;
+
+import com.portfolio.usermanagement.dto.response.IntrospectResponse;
+import com.portfolio.usermanagement.dto.response.TokenIntrospection;
+import com.portfolio.usermanagement.exception.BadRequestException;
+import com.portfolio.usermanagement.repository.UserRepository;
+import com.portfolio.usermanagement.repository.projection.UserCredentials;
+import com.portfolio.usermanagement.security.jwt.JwtUtils;
+import com.portfolio.usermanagement.security.jwt.TokenBlacklistService;
+import com.portfolio.usermanagement.security.jwt.VerifiedToken;
+import io.jsonwebtoken.JwtException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * RFC 7662-style introspection of access tokens for other services, so they can validate
+ * user tokens without holding the signing secret.
+ * <p>
+ * A batch costs one verification per token (usually from {@link JwtUtils}' cache), in-memory
+ * blacklist lookups and one query for the users behind all of its tokens. A token is active
+ * when it verifies, is not blacklisted, and its user exists, is enabled and is still on the
+ * session epoch the token was issued under. A lockout after failed logins does not end
+ * sessions, here as in the API itself.
+ */
+@Service
+public class TokenIntrospectionService {
+
+    /**
+     * Header carrying the introspection key of the calling service.
+     */
+    public static final String KEY_HEADER = "X-Introspection-Key";
+
+    private static final String ACCESS_TOKEN_TYPE = "access";
+
+    private final JwtUtils jwtUtils;
+    private final TokenBlacklistService tokenBlacklistService;
+    private final UserRepository userRepository;
+    private final byte[] apiKey;
+    private final int maxTokens;
+
+    public TokenIntrospectionService(JwtUtils jwtUtils,
+                                     TokenBlacklistService tokenBlacklistService,
+                                     UserRepository userRepository,
+                                     @Value("${app.security.introspection.api-key:}") String apiKey,
+                                     @Value("${app.security.introspection.max-tokens:100}") int maxTokens) {
+        this.jwtUtils = jwtUtils;
+        this.tokenBlacklistService = tokenBlacklistService;
+        this.userRepository = userRepository;
+        this.apiKey = apiKey.getBytes(StandardCharsets.UTF_8);
+        this.maxTokens = maxTokens;
+    }
+
+    /**
+     * True if the key is the configured introspection key. Always false while none is configured.
+     */
+    public boolean isTrustedCaller(String key) {
+        return apiKey.length > 0 && key != null && MessageDigest.isEqual(apiKey, key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Transactional(readOnly = true)
+    public IntrospectResponse introspect(List<String> tokens) {
+        if (tokens.size() > maxTokens) {
+            throw new BadRequestException("At most " + maxTokens + " tokens can be introspected at once");
+        }
+        List<VerifiedToken> candidates = new ArrayList<>(tokens.size());
+        Set<String> usernames = new HashSet<>();
+        for (String token : tokens) {
+            VerifiedToken candidate = verify(token);
+            candidates.add(candidate);
+            if (candidate != null) {
+                usernames.add(candidate.subject());
+            }
+        }
+        Map<String, UserCredentials> users = usernames.isEmpty() ? Map.of()
+                : userRepository.findCredentialsByUsernameIn(usernames).stream()
+                        .collect(Collectors.toMap(UserCredentials::username, Function.identity()));
+
+        List<TokenIntrospection> results = new ArrayList<>(candidates.size());
+        for (VerifiedToken candidate : candidates) {
+            UserCredentials user = candidate != null ? users.get(candidate.subject()) : null;
+            results.add(isActive(candidate, user) ? active(candidate, user) : TokenIntrospection.inactive());
+        }
+        return new IntrospectResponse(results);
+    }
+
+    /**
+     * The verified access token, or null if it is invalid, expired, of another type or blacklisted.
+     */
+    private VerifiedToken verify(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        VerifiedToken verified;
+        try {
+            verified = jwtUtils.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+        if (!ACCESS_TOKEN_TYPE.equals(verified.type()) || tokenBlacklistService.isBlacklisted(verified.jti())) {
+            return null;
+        }
+        return verified;
+    }
+
+    private static boolean isActive(VerifiedToken token, UserCredentials user) {
+        return user != null
+                && Boolean.TRUE.equals(user.enabled())
+                && user.sessionEpoch() == token.sessionEpoch();
+    }
+
+    private static TokenIntrospection active(VerifiedToken token, UserCredentials user) {
+        return TokenIntrospection.builder()
+                .active(true)
+                .sub(token.subject())
+                .roles(UserDetailsServiceImpl.authoritiesOf(user.roleMask()).stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .toList())
+                .exp(token.expiresAt().getEpochSecond())
+                .iat(token.issuedAt() != null ? token.issuedAt().getEpochSecond() : null)
+                .jti(token.jti())
+                .tokenType("Bearer")
+                .build();
+    }
+}
@@ -1,7 +1,9 @@
 package com.portfolio.usermanagement.security;
 
+import com.portfolio.usermanagement.entity.Role;
 import com.portfolio.usermanagement.entity.User;
 import com.portfolio.usermanagement.repository.UserRepository;
+import com.portfolio.usermanagement.repository.projection.UserCredentials;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -11,33 +13,71 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
 
+    /**
+     * Authorities for every possible role mask, indexed by the mask.
+     */
+    private static final List<List<GrantedAuthority>> AUTHORITIES_BY_MASK = authoritiesByMask();
+
     @Autowired
     private UserRepository userRepository;
 
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        UserCredentials credentials = userRepository.findCredentialsByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-        Set<GrantedAuthority> authorities = user.getRoles().stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName().name()))
-                .collect(Collectors.toSet());
-
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities(authorities)
-                .accountExpired(!user.getAccountNonExpired())
-                .accountLocked(!user.getAccountNonLocked())
-                .credentialsExpired(!user.getCredentialsNonExpired())
-                .disabled(!user.getEnabled())
-                .build();
+        return new UserPrincipal(
+                credentials.id(),
+                credentials.username(),
+                credentials.password(),
+                credentials.enabled(),
+                credentials.accountNonExpired(),
+                credentials.credentialsNonExpired(),
+                credentials.accountNonLocked(),
+                authoritiesOf(credentials.roleMask()),
+                credentials.sessionEpoch());
+    }
+
+    /**
+     * Build the Spring Security view of an already loaded user.
+     * Lets callers that hold the entity (registration, token refresh) skip a second lookup.
+     */
+    public static UserPrincipal build(User user) {
+        return new UserPrincipal(
+                user.getId(),
+                user.getUsername(),
+                user.getPassword(),
+                user.getEnabled(),
+                user.getAccountNonExpired(),
+                user.getCredentialsNonExpired(),
+                user.getAccountNonLocked(),
+                authoritiesOf(user.getRoleMask()),
+                user.getSessionEpoch());
+    }
+
+    static List<GrantedAuthority> authoritiesOf(int roleMask) {
+        return AUTHORITIES_BY_MASK.get(roleMask & (AUTHORITIES_BY_MASK.size() - 1));
+    }
+
+    private static List<List<GrantedAuthority>> authoritiesByMask() {
+        Role.RoleName[] roleNames = Role.RoleName.values();
+        List<List<GrantedAuthority>> table = new ArrayList<>(1 << roleNames.length);
+        for (int mask = 0; mask < 1 << roleNames.length; mask++) {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            for (Role.RoleName roleName : roleNames) {
+                if ((mask & roleName.bit()) != 0) {
+                    authorities.add(new SimpleGrantedAuthority(roleName.name()));
+                }
+            }
+            table.add(List.copyOf(authorities));
+        }
+        return List.copyOf(table);
     }
 }
@@ -0,0 +1,35 @@
+package com.portfolio.usermanagement.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Authenticated user as seen by Spring Security, carrying the user id so ownership checks
+ * can compare ids without looking the user up again, and the session epoch tokens are
+ * checked against.
+ */
+public class UserPrincipal extends User {
+
+    private final UUID id;
+
+    private final int sessionEpoch;
+
+    public UserPrincipal(UUID id, String username, String password, boolean enabled, boolean accountNonExpired,
+                         boolean credentialsNonExpired, boolean accountNonLocked,
+                         Collection<? extends GrantedAuthority> authorities, int sessionEpoch) {
+        super(username, password, enabled, accountNonExpired, credentialsNonExpired, accountNonLocked, authorities);
+        this.id = id;
+        this.sessionEpoch = sessionEpoch;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public int getSessionEpoch() {
+        return sessionEpoch;
+    }
+}
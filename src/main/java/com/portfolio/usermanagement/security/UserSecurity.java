@@ -1,6 +1,5 @@
 package com.portfolio.usermanagement.security;
 
-import com.portfolio.usermanagement.entity.User;
 import com.portfolio.usermanagement.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
@@ -14,14 +13,22 @@ public class UserSecurity {
     @Autowired
     private UserRepository userRepository;
 
+    /**
+     * Whether the authenticated user is the given user. Principals built by
+     * {@link UserDetailsServiceImpl} carry the id, so this is a plain comparison; other
+     * principals fall back to a lookup by username.
+     */
     public boolean isOwner(UUID userId, Authentication authentication) {
         if (authentication == null || !authentication.isAuthenticated()) {
             return false;
         }
 
-        String username = authentication.getName();
-        User user = userRepository.findByUsername(username).orElse(null);
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId().equals(userId);
+        }
 
-        return user != null && user.getId().equals(userId);
+        return userRepository.findCredentialsByUsername(authentication.getName())
+                .map(credentials -> credentials.id().equals(userId))
+                .orElse(false);
     }
 }
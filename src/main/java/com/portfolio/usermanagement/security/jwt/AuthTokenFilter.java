@@ -1,5 +1,6 @@
 package com.portfolio.usermanagement.security.jwt;
 
+import com.portfolio.usermanagement.security.UserPrincipal;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -53,19 +54,27 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         try {
             // Extract JWT from Authorization header
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
+            if (jwt != null) {
+                // Verify once; signature, expiry and claims come from a single parse
+                VerifiedToken token = jwtUtils.verify(jwt);
+
                 // Check if token has been blacklisted (logged out)
-                String jti = jwtUtils.getJtiFromToken(jwt);
-                if (tokenBlacklistService.isBlacklisted(jti)) {
-                    logger.warn("Attempted to use blacklisted token (JTI: {})", jti);
+                if (tokenBlacklistService.isBlacklisted(token.jti())) {
+                    logger.warn("Attempted to use blacklisted token (JTI: {})", token.jti());
                     // Continue without authentication - token is invalid
                     filterChain.doFilter(request, response);
                     return;
                 }
 
                 // Load user details and set up authentication
-                String username = jwtUtils.getUsernameFromJwtToken(jwt);
+                String username = token.subject();
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                if (userDetails instanceof UserPrincipal principal
+                        && principal.getSessionEpoch() != token.sessionEpoch()) {
+                    logger.warn("Attempted to use token from a revoked session (JTI: {})", token.jti());
+                    filterChain.doFilter(request, response);
+                    return;
+                }
 
                 // Create authentication object and add to security context
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
@@ -0,0 +1,328 @@
+package com.portfolio.usermanagement.security.jwt;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Verifies the HMAC-signed access tokens this service issues without the generic JWT parser.
+ * <p>
+ * The token is copied once into a pooled ASCII buffer and split there. The header must be
+ * byte for byte the one {@link HmacTokenWriter} writes. The signature is checked with a pooled,
+ * keyed {@link Mac} over the buffer, and only the claims {@link VerifiedToken} needs are read
+ * from the decoded payload with a streaming parser.
+ * <p>
+ * It only ever accepts: anything it does not recognise, cannot check or would reject yields
+ * null, and the caller falls back to the jjwt parser, which then accepts or rejects the token
+ * with its usual exceptions. So it never accepts a token that jjwt would reject.
+ */
+public final class HmacTokenVerifier {
+
+    private static final int MAX_TOKEN_LENGTH = 8192;
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final byte[] DECODE = decodeTable();
+
+    private final byte[] encodedHeader;
+    private final Mac prototype;
+    private final int macLength;
+    // Pooled rather than thread-local: on virtual threads every request would get new buffers
+    private final Queue<Buffers> pool = new ConcurrentLinkedQueue<>();
+
+    public HmacTokenVerifier(SecretKey key) {
+        String header = "{\"alg\":\"" + switch (key.getAlgorithm()) {
+            case "HmacSHA256" -> "HS256";
+            case "HmacSHA384" -> "HS384";
+            case "HmacSHA512" -> "HS512";
+            default -> throw new IllegalArgumentException("Not an HMAC-SHA key: " + key.getAlgorithm());
+        } + "\"}";
+        this.encodedHeader = Base64.getUrlEncoder().withoutPadding().encode(header.getBytes(StandardCharsets.UTF_8));
+        try {
+            this.prototype = Mac.getInstance(key.getAlgorithm());
+            this.prototype.init(key);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot set up " + key.getAlgorithm(), e);
+        }
+        this.macLength = prototype.getMacLength();
+    }
+
+    /**
+     * The claims of the token if it is one of ours, correctly signed and unexpired at
+     * {@code nowMillis}; otherwise null, to be settled by the regular parser.
+     */
+    public VerifiedToken verify(String token, long nowMillis) {
+        int length = token.length();
+        if (length > MAX_TOKEN_LENGTH) {
+            return null;
+        }
+        Buffers buffers = pool.poll();
+        if (buffers == null) {
+            buffers = new Buffers(newMac(), macLength);
+        }
+        try {
+            return verify(token, length, nowMillis, buffers);
+        } finally {
+            pool.offer(buffers);
+        }
+    }
+
+    private VerifiedToken verify(String token, int length, long nowMillis, Buffers buffers) {
+        byte[] ascii = buffers.ascii(length);
+        int firstDot = -1;
+        int secondDot = -1;
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c > 0x7f) {
+                return null;
+            }
+            if (c == '.') {
+                if (firstDot < 0) {
+                    firstDot = i;
+                } else if (secondDot < 0) {
+                    secondDot = i;
+                } else {
+                    return null;
+                }
+            }
+            ascii[i] = (byte) c;
+        }
+        if (secondDot < 0 || firstDot != encodedHeader.length
+                || !Arrays.equals(ascii, 0, firstDot, encodedHeader, 0, encodedHeader.length)) {
+            return null;
+        }
+
+        // Signature over the ASCII of header.payload, compared in constant time
+        int signatureLength = decode(ascii, secondDot + 1, length, buffers.signature);
+        if (signatureLength != macLength) {
+            return null;
+        }
+        Mac mac = buffers.mac;
+        mac.update(ascii, 0, secondDot);
+        try {
+            mac.doFinal(buffers.expected, 0);
+        } catch (ShortBufferException e) {
+            throw new IllegalStateException(e);
+        }
+        int difference = 0;
+        for (int i = 0; i < macLength; i++) {
+            difference |= buffers.signature[i] ^ buffers.expected[i];
+        }
+        if (difference != 0) {
+            return null;
+        }
+
+        byte[] claims = buffers.claims((secondDot - firstDot) * 3 / 4 + 3);
+        int claimsLength = decode(ascii, firstDot + 1, secondDot, claims);
+        if (claimsLength < 0) {
+            return null;
+        }
+        return readClaims(claims, claimsLength, nowMillis);
+    }
+
+    /**
+     * The claims we use, from a payload whose signature is already checked. Null if the
+     * payload holds anything the regular parser treats differently: another type for a known
+     * claim, a repeated claim, a blank subject or id (which it reads as absent), a not-before
+     * time or trailing content.
+     */
+    private static VerifiedToken readClaims(byte[] claims, int length, long nowMillis) {
+        String subject = null;
+        String jti = null;
+        String type = null;
+        Integer sessionEpoch = null;
+        Long issuedAt = null;
+        Long expiresAt = null;
+        try (JsonParser parser = JSON.createParser(claims, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case "sub" -> {
+                        if (subject != null || value != JsonToken.VALUE_STRING) {
+                            return null;
+                        }
+                        subject = parser.getText();
+                        if (subject.isBlank()) {
+                            return null;
+                        }
+                    }
+                    case "jti" -> {
+                        if (jti != null || value != JsonToken.VALUE_STRING) {
+                            return null;
+                        }
+                        jti = parser.getText();
+                        if (jti.isBlank()) {
+                            return null;
+                        }
+                    }
+                    case "type" -> {
+                        if (type != null || value != JsonToken.VALUE_STRING) {
+                            return null;
+                        }
+                        type = parser.getText();
+                    }
+                    case "sep" -> {
+                        if (sessionEpoch != null || value != JsonToken.VALUE_NUMBER_INT
+                                || parser.getNumberType() != JsonParser.NumberType.INT) {
+                            return null;
+                        }
+                        sessionEpoch = parser.getIntValue();
+                    }
+                    case "iat" -> {
+                        if (issuedAt != null || !isEpochSeconds(parser, value)) {
+                            return null;
+                        }
+                        issuedAt = parser.getLongValue();
+                    }
+                    case "exp" -> {
+                        if (expiresAt != null || !isEpochSeconds(parser, value)) {
+                            return null;
+                        }
+                        expiresAt = parser.getLongValue();
+                    }
+                    case "nbf" -> {
+                        return null;
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT || parser.nextToken() != null) {
+                return null;
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        // The regular parser rejects a token once now is past exp
+        if (expiresAt == null || nowMillis > expiresAt * 1000) {
+            return null;
+        }
+        return new VerifiedToken(jti, subject, type, sessionEpoch != null ? sessionEpoch : 0,
+                issuedAt != null ? Instant.ofEpochSecond(issuedAt) : null,
+                Instant.ofEpochSecond(expiresAt));
+    }
+
+    private static boolean isEpochSeconds(JsonParser parser, JsonToken value) throws IOException {
+        return value == JsonToken.VALUE_NUMBER_INT
+                && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER
+                && Math.abs(parser.getLongValue()) < Long.MAX_VALUE / 1000;
+    }
+
+    /**
+     * Decode unpadded Base64URL from {@code src[from, to)} into {@code dst}.
+     *
+     * @return decoded length, or -1 if the input is not canonical unpadded Base64URL (a character
+     * outside the alphabet, or non-zero bits left over at the end) or does not fit
+     */
+    static int decode(byte[] src, int from, int to, byte[] dst) {
+        int length = to - from;
+        int remainder = length % 4;
+        int decodedLength = length / 4 * 3 + (remainder == 0 ? 0 : remainder - 1);
+        if (remainder == 1 || decodedLength > dst.length) {
+            return -1;
+        }
+        int out = 0;
+        int i = from;
+        for (int end = to - remainder; i < end; i += 4) {
+            int s0 = sextet(src[i]);
+            int s1 = sextet(src[i + 1]);
+            int s2 = sextet(src[i + 2]);
+            int s3 = sextet(src[i + 3]);
+            if ((s0 | s1 | s2 | s3) < 0) {
+                return -1;
+            }
+            int bits = s0 << 18 | s1 << 12 | s2 << 6 | s3;
+            dst[out++] = (byte) (bits >> 16);
+            dst[out++] = (byte) (bits >> 8);
+            dst[out++] = (byte) bits;
+        }
+        if (remainder == 2) {
+            int s0 = sextet(src[i]);
+            int s1 = sextet(src[i + 1]);
+            if ((s0 | s1) < 0 || (s1 & 0x0f) != 0) {
+                return -1;
+            }
+            dst[out++] = (byte) (s0 << 2 | s1 >> 4);
+        } else if (remainder == 3) {
+            int s0 = sextet(src[i]);
+            int s1 = sextet(src[i + 1]);
+            int s2 = sextet(src[i + 2]);
+            if ((s0 | s1 | s2) < 0 || (s2 & 0x03) != 0) {
+                return -1;
+            }
+            int bits = s0 << 12 | s1 << 6 | s2;
+            dst[out++] = (byte) (bits >> 10);
+            dst[out++] = (byte) (bits >> 2);
+        }
+        return out;
+    }
+
+    /**
+     * Value of a Base64URL character, or -1 for any other character.
+     */
+    private static int sextet(byte c) {
+        return DECODE[c & 0x7f];
+    }
+
+    private static byte[] decodeTable() {
+        byte[] table = new byte[128];
+        Arrays.fill(table, (byte) -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            table[alphabet.charAt(i)] = (byte) i;
+        }
+        return table;
+    }
+
+    private Mac newMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Mac " + prototype.getAlgorithm() + " cannot be cloned", e);
+        }
+    }
+
+    /**
+     * Per-verification scratch space, reused across verifications.
+     */
+    private static final class Buffers {
+        private final Mac mac;
+        private final byte[] signature;
+        private final byte[] expected;
+        private byte[] ascii = new byte[512];
+        private byte[] claims = new byte[384];
+
+        private Buffers(Mac mac, int macLength) {
+            this.mac = mac;
+            this.signature = new byte[macLength + 3];
+            this.expected = new byte[macLength];
+        }
+
+        private byte[] ascii(int length) {
+            if (ascii.length < length) {
+                ascii = new byte[length];
+            }
+            return ascii;
+        }
+
+        private byte[] claims(int length) {
+            if (claims.length < length) {
+                claims = new byte[length];
+            }
+            return claims;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.portfolio.usermanagement.security.jwt;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes HMAC-signed access tokens without the generic JWT builder.
+ * <p>
+ * The header and the claims every token shares are encoded once. Per token, only the subject,
+ * id, session epoch and times are written into a fixed claim template, and the signature comes
+ * from a pooled, already keyed {@link Mac} rather than a provider lookup and key setup. The
+ * tokens are the ones {@code Jwts.builder()} would produce for the same key and claims, so the
+ * regular parser verifies them.
+ */
+final class HmacTokenWriter {
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final byte[] encodedHeader;
+    private final String sharedClaims;
+    private final long expirationMs;
+    private final Mac prototype;
+    // A pool rather than a thread-local: on virtual threads every request would key a new Mac
+    private final Queue<Mac> macs = new ConcurrentLinkedQueue<>();
+
+    HmacTokenWriter(SecretKey key, String issuer, String audience, String type, long expirationMs) {
+        String header = "{\"alg\":\"" + algorithmOf(key) + "\"}";
+        this.encodedHeader = BASE64URL.encode(header.getBytes(StandardCharsets.UTF_8));
+        StringBuilder claims = new StringBuilder(",\"type\":");
+        appendString(claims, type);
+        claims.append(",\"iss\":");
+        appendString(claims, issuer);
+        claims.append(",\"aud\":[");
+        appendString(claims, audience);
+        claims.append(']');
+        this.sharedClaims = claims.toString();
+        this.expirationMs = expirationMs;
+        try {
+            this.prototype = Mac.getInstance(key.getAlgorithm());
+            this.prototype.init(key);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot set up " + key.getAlgorithm(), e);
+        }
+    }
+
+    /**
+     * Sign a token for the subject, issued at {@code nowMillis}.
+     */
+    String write(String subject, int sessionEpoch, long nowMillis) {
+        StringBuilder claims = new StringBuilder(192).append("{\"sub\":");
+        appendString(claims, subject);
+        claims.append(",\"jti\":\"").append(newJti(nowMillis)).append('"')
+                .append(sharedClaims)
+                .append(",\"sep\":").append(sessionEpoch)
+                .append(",\"iat\":").append(nowMillis / 1000)
+                .append(",\"exp\":").append((nowMillis + expirationMs) / 1000)
+                .append('}');
+        byte[] encodedClaims = BASE64URL.encode(claims.toString().getBytes(StandardCharsets.UTF_8));
+
+        int signingInputLength = encodedHeader.length + 1 + encodedClaims.length;
+        byte[] signingInput = new byte[signingInputLength];
+        System.arraycopy(encodedHeader, 0, signingInput, 0, encodedHeader.length);
+        signingInput[encodedHeader.length] = '.';
+        System.arraycopy(encodedClaims, 0, signingInput, encodedHeader.length + 1, encodedClaims.length);
+
+        byte[] signature = BASE64URL.encode(sign(signingInput));
+        byte[] token = new byte[signingInputLength + 1 + signature.length];
+        System.arraycopy(signingInput, 0, token, 0, signingInputLength);
+        token[signingInputLength] = '.';
+        System.arraycopy(signature, 0, token, signingInputLength + 1, signature.length);
+        return new String(token, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * A time-ordered (version 7) UUID from the thread's non-blocking random generator.
+     * Token ids only need to be unique; the signature is what makes a token unforgeable.
+     */
+    static String newJti(long nowMillis) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSigBits = (nowMillis << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+
+    private byte[] sign(byte[] input) {
+        Mac mac = macs.poll();
+        if (mac == null) {
+            mac = newMac();
+        }
+        try {
+            return mac.doFinal(input);
+        } finally {
+            macs.offer(mac);
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("Mac " + prototype.getAlgorithm() + " cannot be cloned", e);
+        }
+    }
+
+    private static String algorithmOf(SecretKey key) {
+        return switch (key.getAlgorithm()) {
+            case "HmacSHA256" -> "HS256";
+            case "HmacSHA384" -> "HS384";
+            case "HmacSHA512" -> "HS512";
+            default -> throw new IllegalArgumentException("Not an HMAC-SHA key: " + key.getAlgorithm());
+        };
+    }
+
+    /**
+     * Append {@code value} as a JSON string literal.
+     */
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
@@ -1,10 +1,12 @@
 package com.portfolio.usermanagement.security.jwt;
 
+import com.portfolio.usermanagement.security.UserPrincipal;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,14 +14,21 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.PublicKey;
+import java.time.Instant;
 import java.util.Date;
-import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
     private static final int MINIMUM_SECRET_LENGTH = 64;
+    private static final String SESSION_EPOCH_CLAIM = "sep";
+    private static final String ISSUER = "user-management-system";
+    private static final String AUDIENCE = "api";
+    private static final String ACCESS_TOKEN_TYPE = "access";
 
     @Value("${jwt.secret}")
     private String jwtSecret;
@@ -27,6 +36,26 @@ public class JwtUtils {
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
+    @Value("${jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
+    @Value("${jwt.fast-verify:false}")
+    private boolean fastVerify;
+
+    @Autowired
+    private SigningKeys signingKeys;
+
+    /**
+     * Tokens verified recently, by their compact form. A token is signed once and never changes,
+     * so its verified claims stay valid until it expires.
+     */
+    private final ConcurrentHashMap<String, VerifiedToken> verified = new ConcurrentHashMap<>();
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private HmacTokenWriter hmacTokenWriter;
+    private HmacTokenVerifier hmacTokenVerifier;
+
     /**
      * Validates JWT secret on application startup.
      * Ensures the secret is long enough to be secure (64+ characters).
@@ -38,6 +67,23 @@ public class JwtUtils {
                 "JWT secret must be at least " + MINIMUM_SECRET_LENGTH + " characters long"
             );
         }
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        // Tokens with a kid are checked against the published keys, those without against the secret
+        parser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                if (header.getKeyId() == null) {
+                    return signingKey;
+                }
+                PublicKey key = signingKeys.verificationKey(header.getKeyId());
+                if (key == null) {
+                    throw new MalformedJwtException("Unknown JWT key id: " + header.getKeyId());
+                }
+                return key;
+            }
+        }).build();
+        hmacTokenWriter = new HmacTokenWriter(signingKey, ISSUER, AUDIENCE, ACCESS_TOKEN_TYPE, jwtExpirationMs);
+        hmacTokenVerifier = fastVerify ? new HmacTokenVerifier(signingKey) : null;
         logger.info("JWT configuration validated successfully");
     }
 
@@ -47,41 +93,88 @@ public class JwtUtils {
      * - type: Token type (access token)
      * - issuer: Application identifier
      * - audience: Intended recipients
+     * - sep: the user's session epoch, so all tokens of a user can be revoked at once
+     *
+     * Signed with the active asymmetric key (kid header) when one is configured, else with the
+     * secret through {@link HmacTokenWriter}, which writes the same tokens without the builder.
      */
     public String generateJwtToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        int sessionEpoch = userPrincipal instanceof UserPrincipal principal ? principal.getSessionEpoch() : 0;
+        long now = System.currentTimeMillis();
+        if (!signingKeys.isAsymmetric()) {
+            return hmacTokenWriter.write(userPrincipal.getUsername(), sessionEpoch, now);
+        }
         return Jwts.builder()
+                .header().keyId(signingKeys.signingKid()).and()
                 .subject(userPrincipal.getUsername())
-                .claim("jti", UUID.randomUUID().toString()) // Unique token ID for blacklisting
-                .claim("type", "access")
-                .issuer("user-management-system")
-                .audience().add("api").and()
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + jwtExpirationMs))
-                .signWith(getSigningKey())
+                .claim("jti", HmacTokenWriter.newJti(now)) // Unique token ID for blacklisting
+                .claim("type", ACCESS_TOKEN_TYPE)
+                .claim(SESSION_EPOCH_CLAIM, sessionEpoch)
+                .issuer(ISSUER)
+                .audience().add(AUDIENCE).and()
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + jwtExpirationMs))
+                .signWith(signingKeys.signingKey())
                 .compact();
     }
 
+    /**
+     * Verify the token and read its claims with a single parse.
+     * Repeated calls for the same token are served from memory until it expires. With
+     * {@code jwt.fast-verify}, tokens signed with the secret are first tried with
+     * {@link HmacTokenVerifier}; whatever it does not accept is left to the regular parser.
+     *
+     * @throws JwtException if the token is malformed, badly signed or expired
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken cached = verified.get(token);
+        if (cached != null) {
+            if (cached.expiresAt().isAfter(Instant.now())) {
+                return cached;
+            }
+            verified.remove(token);
+        }
+        if (hmacTokenVerifier != null) {
+            VerifiedToken fast = hmacTokenVerifier.verify(token, System.currentTimeMillis());
+            if (fast != null) {
+                remember(token, fast);
+                return fast;
+            }
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("JWT has no expiration");
+        }
+        Integer sessionEpoch = claims.get(SESSION_EPOCH_CLAIM, Integer.class);
+        VerifiedToken verifiedToken = new VerifiedToken(
+                claims.get("jti", String.class),
+                claims.getSubject(),
+                claims.get("type", String.class),
+                sessionEpoch != null ? sessionEpoch : 0,
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration().toInstant());
+        remember(token, verifiedToken);
+        return verifiedToken;
+    }
+
     /**
      * Extracts the JWT ID (jti) from a token.
      * Used for blacklist checking during logout.
      */
     public String getJtiFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .get("jti", String.class);
+        return verify(token).jti();
+    }
+
+    /**
+     * Session epoch the token was issued under; 0 for tokens issued before epochs existed.
+     */
+    public int getSessionEpochFromToken(String token) {
+        return verify(token).sessionEpoch();
     }
 
     public String getUsernameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+        return verify(token).subject();
     }
 
     /**
@@ -92,20 +185,13 @@ public class JwtUtils {
      * @return milliseconds until token expires
      */
     public long getExpirationMs(String token) {
-        Date expiration = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getExpiration();
-
-        long expirationMs = expiration.getTime() - System.currentTimeMillis();
+        long expirationMs = verify(token).expiresAt().toEpochMilli() - System.currentTimeMillis();
         return Math.max(0, expirationMs); // Return 0 if already expired
     }
 
     public boolean validateJwtToken(String authToken) {
         try {
-            Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(authToken);
+            verify(authToken);
             return true;
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
@@ -119,7 +205,18 @@ public class JwtUtils {
         return false;
     }
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    /**
+     * Cache a verified token. When full, expired entries go first; if that frees nothing,
+     * the cache starts over rather than scanning on every insert.
+     */
+    private void remember(String token, VerifiedToken verifiedToken) {
+        if (verified.size() >= verifiedCacheSize) {
+            Instant now = Instant.now();
+            verified.values().removeIf(cached -> !cached.expiresAt().isAfter(now));
+            if (verified.size() >= verifiedCacheSize) {
+                verified.clear();
+            }
+        }
+        verified.put(token, verifiedToken);
     }
 }
@@ -0,0 +1,119 @@
+package com.portfolio.usermanagement.security.jwt;
+
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PrivateJwk;
+import io.jsonwebtoken.security.PublicJwk;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Asymmetric keys for signing access tokens, loaded once at startup from a private JWK set.
+ * <p>
+ * With {@code jwt.signing.jwks-file} set, tokens are signed with the key {@code active-kid}
+ * (ES256 for P-256 keys, EdDSA for Ed25519) and carry its id in the {@code kid} header. Every
+ * key in the file verifies tokens and is published, public part only, by the JWKS endpoint,
+ * so other services verify tokens locally. To rotate, add the new key, make it active and
+ * drop the old one once the tokens it signed have expired. Without the file, tokens are
+ * signed with the HMAC secret as before.
+ */
+@Component
+public class SigningKeys {
+
+    private static final Logger logger = LoggerFactory.getLogger(SigningKeys.class);
+
+    @Value("${jwt.signing.jwks-file:}")
+    private String jwksFile;
+
+    @Value("${jwt.signing.active-kid:}")
+    private String activeKid;
+
+    private final Map<String, PublicKey> verificationKeys = new LinkedHashMap<>();
+    private PrivateKey signingKey;
+    private String signingKid;
+    private String jwksJson = "{\"keys\":[]}";
+    private String jwksETag;
+
+    @PostConstruct
+    public void load() {
+        if (StringUtils.hasText(jwksFile)) {
+            JwkSet jwkSet;
+            try (Reader reader = Files.newBufferedReader(Path.of(jwksFile), StandardCharsets.UTF_8)) {
+                jwkSet = Jwks.setParser().build().parse(reader);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read JWT signing keys from " + jwksFile, e);
+            }
+            Map<String, PublicJwk<?>> published = new LinkedHashMap<>();
+            for (Jwk<?> jwk : jwkSet.getKeys()) {
+                if (!(jwk instanceof PrivateJwk<?, ?, ?> privateJwk) || !StringUtils.hasText(jwk.getId())) {
+                    throw new IllegalStateException("JWT signing keys must be private keys with a kid");
+                }
+                PublicJwk<?> publicJwk = privateJwk.toPublicJwk();
+                published.put(jwk.getId(), publicJwk);
+                verificationKeys.put(jwk.getId(), (PublicKey) publicJwk.toKey());
+                if (signingKey == null && (!StringUtils.hasText(activeKid) || activeKid.equals(jwk.getId()))) {
+                    signingKey = (PrivateKey) privateJwk.toKey();
+                    signingKid = jwk.getId();
+                }
+            }
+            if (signingKey == null) {
+                throw new IllegalStateException("No JWT signing key with kid " + activeKid + " in " + jwksFile);
+            }
+            jwksJson = published.values().stream()
+                    .map(Jwks::json)
+                    .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+            logger.info("Signing JWTs with key {} ({} keys published)", signingKid, published.size());
+        }
+        jwksETag = "\"" + DigestUtils.md5DigestAsHex(jwksJson.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * True when tokens are signed with {@link #signingKey()} rather than the HMAC secret.
+     */
+    public boolean isAsymmetric() {
+        return signingKey != null;
+    }
+
+    public PrivateKey signingKey() {
+        return signingKey;
+    }
+
+    public String signingKid() {
+        return signingKid;
+    }
+
+    /**
+     * Public key for the kid of a token header, or null if there is none.
+     */
+    public PublicKey verificationKey(String kid) {
+        return kid != null ? verificationKeys.get(kid) : null;
+    }
+
+    /**
+     * The public JWK set, empty while signing with the HMAC secret.
+     */
+    public String jwksJson() {
+        return jwksJson;
+    }
+
+    public String jwksETag() {
+        return jwksETag;
+    }
+}
@@ -2,14 +2,18 @@ package com.portfolio.usermanagement.security.jwt;
 
 import com.portfolio.usermanagement.entity.BlacklistedToken;
 import com.portfolio.usermanagement.repository.BlacklistedTokenRepository;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Service to manage JWT token blacklisting for logout functionality.
@@ -17,18 +21,51 @@ import java.util.Date;
  *
  * Now uses database persistence instead of in-memory storage for better reliability
  * and persistence across application restarts.
+ *
+ * Lookups are answered from an in-memory copy of the unexpired blacklist. Tokens blacklisted
+ * here are added at once; those blacklisted by other instances are picked up by polling every
+ * {@code refresh-ms}, which bounds how long a logged-out token stays usable elsewhere.
  */
 @Service
 public class TokenBlacklistService {
 
     private static final Logger logger = LoggerFactory.getLogger(TokenBlacklistService.class);
 
+    /**
+     * Polls re-read this far back, so rows committed late or stamped by a lagging clock are not missed.
+     */
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
     private final BlacklistedTokenRepository blacklistedTokenRepository;
 
+    /**
+     * Front cache: JTI to expiry of every unexpired blacklisted token.
+     */
+    private final Map<String, Instant> blacklisted = new ConcurrentHashMap<>();
+
+    private volatile Instant lastPoll = Instant.EPOCH;
+
     public TokenBlacklistService(BlacklistedTokenRepository blacklistedTokenRepository) {
         this.blacklistedTokenRepository = blacklistedTokenRepository;
     }
 
+    @PostConstruct
+    void init() {
+        refresh();
+    }
+
+    /**
+     * Load tokens blacklisted since the previous poll, by this or any other instance.
+     */
+    @Scheduled(fixedDelayString = "${app.security.blacklist.refresh-ms:5000}", initialDelayString = "${app.security.blacklist.refresh-ms:5000}")
+    public void refresh() {
+        Instant now = Instant.now();
+        for (BlacklistedToken token : blacklistedTokenRepository.findBlacklistedSince(lastPoll.minus(POLL_OVERLAP), now)) {
+            blacklisted.put(token.getJti(), token.getExpiryTime());
+        }
+        lastPoll = now;
+    }
+
     /**
      * Blacklist a token by its JTI.
      *
@@ -54,6 +91,8 @@ public class TokenBlacklistService {
             return;
         }
 
+        blacklisted.put(jti, expiry.toInstant());
+
         // Check if already blacklisted to avoid duplicates
         if (blacklistedTokenRepository.existsByJti(jti)) {
             logger.debug("Token already blacklisted: {}", jti);
@@ -80,7 +119,7 @@ public class TokenBlacklistService {
         if (jti == null) {
             return false;
         }
-        return blacklistedTokenRepository.existsByJti(jti);
+        return blacklisted.containsKey(jti);
     }
 
     /**
@@ -95,6 +134,7 @@ public class TokenBlacklistService {
         long initialSize = blacklistedTokenRepository.countBlacklistedTokens();
 
         int removed = blacklistedTokenRepository.deleteExpiredTokens(now);
+        blacklisted.values().removeIf(expiry -> expiry.isBefore(now));
 
         if (removed > 0) {
             logger.info("Cleaned up {} expired tokens from blacklist (total before: {})", removed, initialSize);
@@ -116,6 +156,7 @@ public class TokenBlacklistService {
     @Transactional
     public void clearAll() {
         blacklistedTokenRepository.deleteAll();
+        blacklisted.clear();
         logger.warn("Token blacklist cleared");
     }
 }
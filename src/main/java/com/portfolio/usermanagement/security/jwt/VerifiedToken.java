@@ -0,0 +1,18 @@
+package com.portfolio.usermanagement.security.jwt;
+
+import java.time.Instant;
+
+/**
+ * Claims of an access token whose signature and expiry have been checked.
+ *
+ * @param sessionEpoch session epoch the token was issued under; 0 for tokens issued before epochs existed
+ */
+public record VerifiedToken(
+        String jti,
+        String subject,
+        String type,
+        int sessionEpoch,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+}
@@ -1,9 +1,16 @@
 package com.portfolio.usermanagement.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.portfolio.usermanagement.dto.request.UserCursor;
+import com.portfolio.usermanagement.dto.request.UserETag;
+import com.portfolio.usermanagement.dto.request.UserQueryRequest;
+import com.portfolio.usermanagement.dto.response.CursorPage;
 import com.portfolio.usermanagement.dto.response.UserResponse;
 import com.portfolio.usermanagement.entity.User;
+import com.portfolio.usermanagement.repository.projection.UserView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 import java.util.UUID;
 
@@ -11,16 +18,36 @@ public interface UserService {
 
     Page<UserResponse> getAllUsers(Pageable pageable);
 
+    CursorPage<UserResponse> getUsersAfter(UserCursor cursor, int size, boolean includeTotal);
+
     UserResponse getUserById(UUID id);
 
+    UserView getUserView(UUID id);
+
     UserResponse getCurrentUser(String username);
 
+    UserView getCurrentUserView(String username);
+
+    UserETag getCurrentUserETag(String username);
+
     UserResponse updateUser(UUID id, User userDetails);
 
+    UserView patchUser(UUID id, JsonNode patch, UserETag expected);
+
     void deleteUser(UUID id);
 
+    void deleteUser(UUID id, UserETag expected);
+
     Page<UserResponse> searchUsers(String search, Pageable pageable);
 
+    CursorPage<UserResponse> searchUsersAfter(String search, UserCursor cursor, int size);
+
+    /**
+     * One page of the users matching the filter, without a total: the page says only whether
+     * another one follows.
+     */
+    Slice<UserResponse> queryUsers(UserQueryRequest filter, Pageable pageable);
+
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
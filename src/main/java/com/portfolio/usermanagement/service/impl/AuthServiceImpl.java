@@ -9,18 +9,22 @@ import com.portfolio.usermanagement.dto.response.UserResponse;
 import com.portfolio.usermanagement.entity.RefreshToken;
 import com.portfolio.usermanagement.entity.Role;
 import com.portfolio.usermanagement.entity.User;
+import com.portfolio.usermanagement.event.UserChangedEvent;
 import com.portfolio.usermanagement.exception.BadRequestException;
 import com.portfolio.usermanagement.exception.ConflictException;
 import com.portfolio.usermanagement.exception.ErrorCode;
-import com.portfolio.usermanagement.repository.RoleRepository;
 import com.portfolio.usermanagement.repository.UserRepository;
 import com.portfolio.usermanagement.security.AccountLockoutService;
 import com.portfolio.usermanagement.security.RefreshTokenService;
+import com.portfolio.usermanagement.security.RoleCatalog;
+import com.portfolio.usermanagement.security.UserDetailsServiceImpl;
 import com.portfolio.usermanagement.security.jwt.JwtUtils;
 import com.portfolio.usermanagement.security.jwt.TokenBlacklistService;
 import com.portfolio.usermanagement.monitoring.MetricsService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.LockedException;
@@ -28,14 +32,15 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -46,7 +51,7 @@ public class AuthServiceImpl {
     private UserRepository userRepository;
 
     @Autowired
-    private RoleRepository roleRepository;
+    private RoleCatalog roleCatalog;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
@@ -70,41 +75,71 @@ public class AuthServiceImpl {
     private TokenBlacklistService tokenBlacklistService;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private AuditorAware<String> auditorProvider;
 
-    public AuthResponse register(RegisterRequest request, HttpServletRequest httpRequest) {
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new ConflictException("Username is already taken", ErrorCode.USERNAME_ALREADY_EXISTS);
-        }
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new ConflictException("Email is already in use", ErrorCode.EMAIL_ALREADY_EXISTS);
-        }
+    /**
+     * Register a new user.
+     * Uniqueness is enforced by the username/email indexes: the user row and its role link are
+     * written by a single INSERT ... ON CONFLICT DO NOTHING, and only a rejected insert pays for
+     * a lookup to tell which field collided.
+     */
+    public AuthResponse register(RegisterRequest request, HttpServletRequest httpRequest) {
+        LocalDateTime now = LocalDateTime.now();
+        String actor = auditorProvider.getCurrentAuditor().orElse("system");
+        String encodedPassword = passwordEncoder.encode(request.getPassword());
+
+        UUID userId = userRepository.insertIfAbsent(
+                UUID.randomUUID(),
+                request.getUsername(),
+                request.getEmail(),
+                encodedPassword,
+                request.getFirstName(),
+                request.getLastName(),
+                roleCatalog.idOf(Role.RoleName.ROLE_USER),
+                now,
+                actor
+        ).orElseThrow(() -> duplicateUserException(request));
+
+        // Mirrors the inserted row. The version marks it as persisted, so the refresh token
+        // can reference it without Hibernate taking it for a transient instance.
+        Role defaultRole = roleCatalog.detached(Role.RoleName.ROLE_USER);
+        Set<Role> roles = new HashSet<>();
+        roles.add(defaultRole);
 
-        User user = User.builder()
+        User savedUser = User.builder()
+                .id(userId)
                 .username(request.getUsername())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(encodedPassword)
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .enabled(true)
                 .accountNonLocked(true)
                 .accountNonExpired(true)
                 .credentialsNonExpired(true)
+                .roles(roles)
+                .roleMask(defaultRole.getName().bit())
+                .version(0L)
                 .build();
-
-        Role userRole = roleRepository.findByName(Role.RoleName.ROLE_USER)
-                .orElseThrow(() -> new RuntimeException("Role not found"));
-        Set<Role> roles = new HashSet<>();
-        roles.add(userRole);
-        user.setRoles(roles);
-
-        User savedUser = userRepository.save(user);
+        savedUser.setCreatedAt(now);
+        savedUser.setUpdatedAt(now);
+        savedUser.setCreatedBy(actor);
+        savedUser.setModifiedBy(actor);
 
         metricsService.recordUserRegistration();
+        eventPublisher.publishEvent(UserChangedEvent.created(userId, savedUser.getUsername(), savedUser.getEmail()));
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
+        // The password was hashed a moment ago, so re-running the AuthenticationManager would only
+        // repeat the user lookup and a full BCrypt verification. Authenticate from the saved entity.
+        UserDetails userDetails = UserDetailsServiceImpl.build(savedUser);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtils.generateJwtToken(authentication);
 
@@ -196,7 +231,7 @@ public class AuthServiceImpl {
 
         // Generate new access token
         User user = newRefreshToken.getUser();
-        UserDetails userDetails = userDetailsService.loadUserByUsername(user.getUsername());
+        UserDetails userDetails = UserDetailsServiceImpl.build(user);
         Authentication authentication = new UsernamePasswordAuthenticationToken(
                 userDetails,
                 null,
@@ -213,6 +248,16 @@ public class AuthServiceImpl {
                 .build();
     }
 
+    /**
+     * Map a rejected registration insert to the field that collided.
+     */
+    private ConflictException duplicateUserException(RegisterRequest request) {
+        if (userRepository.existsByUsernameIncludingDeleted(request.getUsername())) {
+            return new ConflictException("Username is already taken", ErrorCode.USERNAME_ALREADY_EXISTS);
+        }
+        return new ConflictException("Email is already in use", ErrorCode.EMAIL_ALREADY_EXISTS);
+    }
+
     /**
      * Extract client IP address from HTTP request.
      * Checks common proxy headers first, falls back to remote address.
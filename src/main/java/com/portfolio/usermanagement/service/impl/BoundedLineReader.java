@@ -0,0 +1,56 @@
+package com.portfolio.usermanagement.service.impl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads lines like {@link BufferedReader#readLine()}, but keeps at most {@code maxLength}
+ * characters of a line: the rest of a longer line is skipped rather than buffered.
+ */
+final class BoundedLineReader {
+
+    private final BufferedReader reader;
+    private final int maxLength;
+    private final StringBuilder line = new StringBuilder();
+    private boolean tooLong;
+
+    BoundedLineReader(BufferedReader reader, int maxLength) {
+        this.reader = reader;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * The next line without its terminator ({@code \n}, {@code \r} or {@code \r\n}), cut to
+     * {@code maxLength} characters, or null at the end of the input.
+     */
+    String readLine() throws IOException {
+        line.setLength(0);
+        tooLong = false;
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        while (c >= 0 && c != '\n' && c != '\r') {
+            if (line.length() < maxLength) {
+                line.append((char) c);
+            } else {
+                tooLong = true;
+            }
+            c = reader.read();
+        }
+        if (c == '\r') {
+            reader.mark(1);
+            if (reader.read() != '\n') {
+                reader.reset();
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Whether the line last returned was cut.
+     */
+    boolean wasTooLong() {
+        return tooLong;
+    }
+}
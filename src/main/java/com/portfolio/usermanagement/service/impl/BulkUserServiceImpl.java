@@ -0,0 +1,192 @@
+package com.portfolio.usermanagement.service.impl;
+
+import com.portfolio.usermanagement.dto.request.BulkUserRequest;
+import com.portfolio.usermanagement.dto.request.BulkUserRequest.Operation;
+import com.portfolio.usermanagement.dto.request.UserCursor;
+import com.portfolio.usermanagement.dto.request.UserQueryRequest;
+import com.portfolio.usermanagement.dto.response.JobResponse;
+import com.portfolio.usermanagement.entity.User;
+import com.portfolio.usermanagement.event.UserChangedEvent;
+import com.portfolio.usermanagement.exception.BadRequestException;
+import com.portfolio.usermanagement.job.JobContext;
+import com.portfolio.usermanagement.job.JobHandler;
+import com.portfolio.usermanagement.job.JobService;
+import com.portfolio.usermanagement.monitoring.MetricsService;
+import com.portfolio.usermanagement.repository.UserRepository;
+import com.portfolio.usermanagement.repository.projection.DeletedUser;
+import com.portfolio.usermanagement.security.RoleCatalog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk admin operations on users, run as background jobs.
+ * The selected users are handled in chunks of {@code chunkSize}, each chunk being a few
+ * set-based statements plus its checkpoint in one transaction, so a resumed job continues
+ * after the last committed chunk. Operations that end sessions do so with one session epoch
+ * update per chunk.
+ */
+@Slf4j
+@Service
+public class BulkUserServiceImpl implements JobHandler {
+
+    public static final String JOB_TYPE = "bulk-users";
+
+    private final UserRepository userRepository;
+    private final RoleCatalog roleCatalog;
+    private final MetricsService metricsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuditorAware<String> auditorProvider;
+    private final JobService jobService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+
+    public BulkUserServiceImpl(UserRepository userRepository,
+                               RoleCatalog roleCatalog,
+                               MetricsService metricsService,
+                               ApplicationEventPublisher eventPublisher,
+                               AuditorAware<String> auditorProvider,
+                               JobService jobService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.bulk.chunk-size:1000}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.roleCatalog = roleCatalog;
+        this.metricsService = metricsService;
+        this.eventPublisher = eventPublisher;
+        this.auditorProvider = auditorProvider;
+        this.jobService = jobService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Validate the request and queue it as a job.
+     * {@code processed} of the job counts selected users handled so far, {@code affected}
+     * those actually changed.
+     */
+    public JobResponse submit(BulkUserRequest request) {
+        boolean hasIds = request.getIds() != null;
+        if (hasIds == (request.getFilter() != null)) {
+            throw new BadRequestException("Exactly one of ids and filter is required");
+        }
+        Operation operation = request.getOperation();
+        Long roleId = null;
+        if (operation.needsRole()) {
+            if (request.getRole() == null || request.getRole().isBlank()) {
+                throw new BadRequestException("Role is required for " + operation);
+            }
+            roleId = roleCatalog.idOf(UserServiceImpl.parseRole(request.getRole()));
+        }
+        if (!hasIds) {
+            // Reject unselective filters now rather than in the job
+            UserServiceImpl.toSpecification(request.getFilter());
+        }
+        List<UUID> ids = hasIds ? request.getIds().stream().sorted().toList() : null;
+        String actor = auditorProvider.getCurrentAuditor().orElse("system");
+
+        return jobService.submit(JOB_TYPE, new BulkPayload(operation, ids, request.getFilter(), roleId, actor));
+    }
+
+    @Override
+    public String type() {
+        return JOB_TYPE;
+    }
+
+    /**
+     * The cursor is the index of the next id for id selections, the encoded position of the
+     * last handled user for filters; filters walk users in (created_at, id) order.
+     */
+    @Override
+    public void run(JobContext context) {
+        BulkPayload payload = context.payload(BulkPayload.class);
+        String cursor = context.cursor();
+        if (payload.ids() != null) {
+            List<UUID> ids = payload.ids();
+            for (int from = cursor != null ? Integer.parseInt(cursor) : 0; from < ids.size(); from += chunkSize) {
+                if (context.shouldStop()) {
+                    return;
+                }
+                int to = Math.min(from + chunkSize, ids.size());
+                processChunk(context, payload, ids.subList(from, to), String.valueOf(to));
+            }
+        } else {
+            Specification<User> filter = UserServiceImpl.toSpecification(payload.filter());
+            UserCursor after = cursor != null ? UserCursor.decode(cursor) : null;
+            List<UserCursor> chunk;
+            do {
+                if (context.shouldStop()) {
+                    return;
+                }
+                UserCursor position = after;
+                chunk = readOnlyTransaction.execute(status -> userRepository.findPositionsAfter(filter, position, chunkSize));
+                if (!chunk.isEmpty()) {
+                    after = chunk.get(chunk.size() - 1);
+                    processChunk(context, payload, chunk.stream().map(UserCursor::id).toList(), after.encode());
+                }
+            } while (chunk.size() == chunkSize);
+        }
+    }
+
+    private void processChunk(JobContext context, BulkPayload payload, List<UUID> ids, String nextCursor) {
+        long start = System.nanoTime();
+        long[] lockWait = new long[1];
+        Integer affected = transactionTemplate.execute(status -> {
+            List<UUID> live = userRepository.lockLive(ids);
+            lockWait[0] = System.nanoTime() - start;
+            int changed = live.isEmpty() ? 0 : apply(payload, live);
+            context.checkpoint(nextCursor, ids.size(), changed);
+            return changed;
+        });
+        metricsService.recordBulkChunk(payload.operation().name(), ids.size(), affected,
+                System.nanoTime() - start, lockWait[0]);
+    }
+
+    /**
+     * Apply the operation to locked live users, ending the sessions of those changed when
+     * {@link Operation#endsSessions()} says so.
+     *
+     * @return number of users changed
+     */
+    private int apply(BulkPayload payload, List<UUID> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        Operation operation = payload.operation();
+        return switch (operation) {
+            case ENABLE, DISABLE -> userRepository.setEnabled(ids, operation == Operation.ENABLE,
+                    operation.endsSessions(), now, payload.actor());
+            case ASSIGN_ROLE -> userRepository.addRole(ids, payload.roleId());
+            case REMOVE_ROLE -> {
+                List<UUID> changed = userRepository.removeRole(ids, payload.roleId());
+                if (operation.endsSessions() && !changed.isEmpty()) {
+                    userRepository.endSessions(changed);
+                }
+                yield changed.size();
+            }
+            case DELETE -> {
+                // Marking users deleted always bumps their session epoch in the same statement
+                List<DeletedUser> deleted = userRepository.markAllDeleted(ids, now, payload.actor());
+                for (DeletedUser user : deleted) {
+                    eventPublisher.publishEvent(UserChangedEvent.deleted(user.id(), user.username(), user.email()));
+                }
+                yield deleted.size();
+            }
+        };
+    }
+
+    /**
+     * Job payload: the validated request with the role resolved and the submitting admin.
+     */
+    public record BulkPayload(Operation operation, List<UUID> ids, UserQueryRequest filter, Long roleId, String actor) {
+    }
+}
@@ -0,0 +1,42 @@
+package com.portfolio.usermanagement.service.impl;
+
+import com.portfolio.usermanagement.exception.BadRequestException;
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Wire formats accepted and produced by the bulk user import and export endpoints.
+ */
+public enum UserDataFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    UserDataFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static UserDataFormat fromMediaType(MediaType mediaType) {
+        return CSV.mediaType.isCompatibleWith(mediaType) ? CSV : NDJSON;
+    }
+
+    public static UserDataFormat fromName(String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unsupported format: " + name);
+        }
+    }
+}
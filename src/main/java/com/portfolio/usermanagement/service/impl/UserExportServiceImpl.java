@@ -0,0 +1,160 @@
+package com.portfolio.usermanagement.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.usermanagement.repository.UserRepository;
+import com.portfolio.usermanagement.repository.projection.UserView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bulk user export.
+ * Users are read in keyset chunks, one short statement each, and a chunk is written to the
+ * output only after its statement has returned its connection. A slow client therefore holds
+ * at most one chunk of rows in memory and never holds a database connection.
+ */
+@Slf4j
+@Service
+public class UserExportServiceImpl {
+
+    private static final String CSV_HEADER = "id,username,email,firstName,lastName,enabled,roles,createdAt,updatedAt";
+
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public UserExportServiceImpl(UserRepository userRepository,
+                                 ObjectMapper objectMapper,
+                                 @Value("${app.export.chunk-size:1000}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Write all users to the output in creation order. Passwords are never exported.
+     */
+    public void exportUsers(UserDataFormat format, OutputStream output) throws IOException {
+        long count = format == UserDataFormat.CSV ? exportCsv(output) : exportNdjson(output);
+        log.info("Exported {} users as {}", count, format);
+    }
+
+    private long exportNdjson(OutputStream output) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(output)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setPrettyPrinter(null);
+            json.setRootValueSeparator(null);
+
+            long count = writeChunks(json, user -> {
+                json.writeStartObject();
+                json.writeStringField("id", user.id().toString());
+                json.writeStringField("username", user.username());
+                json.writeStringField("email", user.email());
+                json.writeStringField("firstName", user.firstName());
+                json.writeStringField("lastName", user.lastName());
+                json.writeBooleanField("enabled", Boolean.TRUE.equals(user.enabled()));
+                json.writeArrayFieldStart("roles");
+                if (user.roles() != null) {
+                    for (String role : user.roles().split(",")) {
+                        json.writeString(role);
+                    }
+                }
+                json.writeEndArray();
+                writeTimestamp(json, "createdAt", user.createdAt());
+                writeTimestamp(json, "updatedAt", user.updatedAt());
+                json.writeEndObject();
+                json.writeRaw('\n');
+            });
+            return count;
+        }
+    }
+
+    private long exportCsv(OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+
+        long count = writeChunks(writer, user -> {
+            writer.write(user.id().toString());
+            writer.write(',');
+            writeCsvField(writer, user.username());
+            writer.write(',');
+            writeCsvField(writer, user.email());
+            writer.write(',');
+            writeCsvField(writer, user.firstName());
+            writer.write(',');
+            writeCsvField(writer, user.lastName());
+            writer.write(',');
+            writer.write(Boolean.TRUE.equals(user.enabled()) ? "true" : "false");
+            writer.write(',');
+            writeCsvField(writer, user.roles());
+            writer.write(',');
+            writeCsvField(writer, toText(user.createdAt()));
+            writer.write(',');
+            writeCsvField(writer, toText(user.updatedAt()));
+            writer.write('\n');
+        });
+        return count;
+    }
+
+    /**
+     * Read chunk after chunk, hand each row to the writer and flush the chunk to the client.
+     * An IOException (client gone) stops the export before the next chunk is read.
+     */
+    private long writeChunks(Flushable out, RowWriter rowWriter) throws IOException {
+        long total = 0;
+        UserView last = null;
+        List<UserView> chunk;
+        do {
+            chunk = userRepository.findViewsInCreationOrder(last, chunkSize);
+            for (UserView user : chunk) {
+                rowWriter.write(user);
+            }
+            out.flush();
+            if (!chunk.isEmpty()) {
+                last = chunk.get(chunk.size() - 1);
+            }
+            total += chunk.size();
+        } while (chunk.size() == chunkSize);
+        return total;
+    }
+
+    private static void writeTimestamp(JsonGenerator json, String field, LocalDateTime value) throws IOException {
+        if (value != null) {
+            json.writeStringField(field, value.toString());
+        }
+    }
+
+    private static String toText(LocalDateTime value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(UserView user) throws IOException;
+    }
+}
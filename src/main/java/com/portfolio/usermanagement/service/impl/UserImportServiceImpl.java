@@ -0,0 +1,344 @@
+package com.portfolio.usermanagement.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.portfolio.usermanagement.domain.valueobject.Email;
+import com.portfolio.usermanagement.domain.valueobject.FullName;
+import com.portfolio.usermanagement.domain.valueobject.Username;
+import com.portfolio.usermanagement.dto.request.UserImportRow;
+import com.portfolio.usermanagement.dto.response.UserImportResult;
+import com.portfolio.usermanagement.entity.Role;
+import com.portfolio.usermanagement.entity.User;
+import com.portfolio.usermanagement.event.UserChangedEvent;
+import com.portfolio.usermanagement.exception.BadRequestException;
+import com.portfolio.usermanagement.monitoring.MetricsService;
+import com.portfolio.usermanagement.repository.UserRepository;
+import com.portfolio.usermanagement.security.BoundedPasswordEncoder;
+import com.portfolio.usermanagement.security.RoleCatalog;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Bulk user import.
+ * Rows are read one line at a time, validated, hashed and written in multi-row batches, so
+ * memory use is bounded by the batch size and the line length rather than the upload size.
+ * Hashes are requested from a virtual thread per row and run on the background share of the
+ * password encoder's pool, so logins during an import wait behind a few hashes at most.
+ * Each row's outcome is written to the output as an NDJSON line as soon as its batch commits.
+ * If the import fails part way, the report ends with an {@code ERROR} line instead.
+ */
+@Slf4j
+@Service
+public class UserImportServiceImpl {
+
+    private static final int MAX_LINE_LENGTH = 8192;
+    private static final Executor HASH_REQUESTS = task -> Thread.ofVirtual().name("user-import-hash").start(task);
+    private static final List<String> CSV_COLUMNS = List.of("username", "email", "password", "firstname", "lastname");
+
+    private final UserRepository userRepository;
+    private final RoleCatalog roleCatalog;
+    private final PasswordEncoder hashEncoder;
+    private final Validator validator;
+    private final MetricsService metricsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader rowReader;
+    private final ObjectWriter resultWriter;
+    private final int batchSize;
+
+    public UserImportServiceImpl(UserRepository userRepository,
+                                 RoleCatalog roleCatalog,
+                                 BoundedPasswordEncoder passwordEncoder,
+                                 Validator validator,
+                                 MetricsService metricsService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 @Value("${app.import.batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.roleCatalog = roleCatalog;
+        this.hashEncoder = passwordEncoder.background();
+        this.validator = validator;
+        this.metricsService = metricsService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rowReader = objectMapper.readerFor(UserImportRow.class);
+        this.resultWriter = objectMapper.writerFor(UserImportResult.class).without(SerializationFeature.INDENT_OUTPUT);
+        // 10 bind parameters per row; stay well clear of the 65535 parameter limit of PostgreSQL
+        this.batchSize = Math.max(1, Math.min(batchSize, 1000));
+    }
+
+    /**
+     * Import users from the given stream and write one result line per input row.
+     *
+     * @param input  NDJSON objects or CSV with a header row, UTF-8; lines longer than
+     *               {@value #MAX_LINE_LENGTH} characters are reported as invalid rows
+     * @param format format of the input
+     * @param actor  username recorded as creator of the imported accounts
+     * @param output destination of the NDJSON result report
+     */
+    public void importUsers(InputStream input, UserDataFormat format, String actor, OutputStream output) throws IOException {
+        BoundedLineReader reader = new BoundedLineReader(
+                new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)), MAX_LINE_LENGTH);
+        Map<UserImportResult.Status, Long> totals = new EnumMap<>(UserImportResult.Status.class);
+        Batch batch = new Batch();
+
+        long lineNumber = 0;
+        int[] csvColumns = null;
+        if (format == UserDataFormat.CSV) {
+            String header = reader.readLine();
+            lineNumber++;
+            if (reader.wasTooLong()) {
+                throw new BadRequestException("CSV header is longer than " + MAX_LINE_LENGTH + " characters");
+            }
+            csvColumns = parseCsvHeader(header);
+        }
+
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (reader.wasTooLong()) {
+                    write(output, invalid(lineNumber, null, "Line is longer than " + MAX_LINE_LENGTH + " characters"), totals);
+                    continue;
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                UserImportRow row;
+                try {
+                    row = format == UserDataFormat.CSV ? parseCsvRow(line, csvColumns) : rowReader.readValue(line);
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    write(output, invalid(lineNumber, null, "Malformed row"), totals);
+                    continue;
+                }
+
+                if (row == null) {
+                    write(output, invalid(lineNumber, null, "Malformed row"), totals);
+                    continue;
+                }
+
+                UserImportResult rejected = addToBatch(batch, lineNumber, row, actor);
+                if (rejected != null) {
+                    write(output, rejected, totals);
+                } else if (batch.size() == batchSize) {
+                    flush(batch, output, totals);
+                }
+            }
+            flush(batch, output, totals);
+        } catch (RuntimeException | IOException e) {
+            // The 200 and earlier result lines are already sent; end the report with a marker
+            log.error("User import by {} aborted at line {}", actor, lineNumber, e);
+            write(output, UserImportResult.builder()
+                    .line(lineNumber)
+                    .status(UserImportResult.Status.ERROR)
+                    .message("Import aborted; rows without a result line were not imported")
+                    .build(), totals);
+            output.flush();
+        }
+
+        totals.forEach((status, count) -> metricsService.recordUserImport(status.name(), count));
+        log.info("User import by {} finished: {}", actor, totals);
+    }
+
+    /**
+     * Validate a row and queue it with its password hash in flight.
+     *
+     * @return a result to report immediately if the row was rejected, otherwise null
+     */
+    private UserImportResult addToBatch(Batch batch, long lineNumber, UserImportRow row, String actor) {
+        Username username;
+        Email email;
+        FullName fullName;
+        try {
+            username = Username.of(row.getUsername());
+            email = Email.of(row.getEmail());
+            fullName = FullName.of(row.getFirstName(), row.getLastName());
+        } catch (IllegalArgumentException e) {
+            return invalid(lineNumber, row.getUsername(), e.getMessage());
+        }
+
+        Set<ConstraintViolation<UserImportRow>> violations = validator.validateProperty(row, "password");
+        if (row.getPassword() == null || !violations.isEmpty()) {
+            String message = violations.isEmpty() ? "Password is required" : violations.iterator().next().getMessage();
+            return invalid(lineNumber, username.getValue(), message);
+        }
+
+        // The unique indexes only see rows already committed; catch repeats inside this batch here
+        if (batch.usernames.contains(username.getValue()) || batch.emails.contains(email.getValue())) {
+            return UserImportResult.builder()
+                    .line(lineNumber)
+                    .username(username.getValue())
+                    .status(UserImportResult.Status.DUPLICATE)
+                    .message("Username or email repeated in the same batch")
+                    .build();
+        }
+
+        batch.usernames.add(username.getValue());
+        batch.emails.add(email.getValue());
+
+        LocalDateTime now = LocalDateTime.now();
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .username(username.getValue())
+                .email(email.getValue())
+                .firstName(fullName.getFirstName())
+                .lastName(fullName.getLastName())
+                .build();
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        user.setCreatedBy(actor);
+        user.setModifiedBy(actor);
+
+        String password = row.getPassword();
+        batch.rows.add(new PendingRow(lineNumber, user,
+                CompletableFuture.supplyAsync(() -> hashEncoder.encode(password), HASH_REQUESTS)));
+        return null;
+    }
+
+    private void flush(Batch batch, OutputStream output, Map<UserImportResult.Status, Long> totals) throws IOException {
+        if (batch.size() == 0) {
+            return;
+        }
+
+        List<User> users = new ArrayList<>(batch.size());
+        for (PendingRow pending : batch.rows) {
+            try {
+                pending.user().setPassword(pending.hash().join());
+            } catch (CompletionException e) {
+                throw new IllegalStateException("Password hashing failed during import", e.getCause());
+            }
+            users.add(pending.user());
+        }
+
+        Set<String> inserted = transactionTemplate.execute(status -> {
+            Set<String> usernames = userRepository.insertAllIgnoringConflicts(users, roleCatalog.idOf(Role.RoleName.ROLE_USER));
+            for (User user : users) {
+                if (usernames.contains(user.getUsername())) {
+                    eventPublisher.publishEvent(UserChangedEvent.created(user.getId(), user.getUsername(), user.getEmail()));
+                }
+            }
+            return usernames;
+        });
+
+        for (PendingRow pending : batch.rows) {
+            String username = pending.user().getUsername();
+            boolean created = inserted != null && inserted.contains(username);
+            write(output, UserImportResult.builder()
+                    .line(pending.line())
+                    .username(username)
+                    .status(created ? UserImportResult.Status.CREATED : UserImportResult.Status.DUPLICATE)
+                    .message(created ? null : "Username or email already exists")
+                    .build(), totals);
+        }
+        output.flush();
+        batch.clear();
+    }
+
+    private void write(OutputStream output, UserImportResult result, Map<UserImportResult.Status, Long> totals) throws IOException {
+        output.write(resultWriter.writeValueAsBytes(result));
+        output.write('\n');
+        totals.merge(result.getStatus(), 1L, Long::sum);
+    }
+
+    private static UserImportResult invalid(long lineNumber, String username, String message) {
+        return UserImportResult.builder()
+                .line(lineNumber)
+                .username(username)
+                .status(UserImportResult.Status.INVALID)
+                .message(message)
+                .build();
+    }
+
+    /**
+     * Map the expected columns to their positions in the header.
+     * Column names are matched case-insensitively, ignoring underscores and hyphens.
+     */
+    private static int[] parseCsvHeader(String header) {
+        if (header == null) {
+            throw new BadRequestException("CSV import requires a header row");
+        }
+        List<String> names = CsvLineParser.parse(header);
+        int[] positions = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < CSV_COLUMNS.size(); i++) {
+            positions[i] = -1;
+        }
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "").replace("-", "");
+            int column = CSV_COLUMNS.indexOf(name);
+            if (column >= 0) {
+                positions[column] = i;
+            }
+        }
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] < 0) {
+                throw new BadRequestException("CSV header is missing column: " + CSV_COLUMNS.get(i));
+            }
+        }
+        return positions;
+    }
+
+    private static UserImportRow parseCsvRow(String line, int[] columns) {
+        List<String> values = CsvLineParser.parse(line);
+        return UserImportRow.builder()
+                .username(column(values, columns[0]))
+                .email(column(values, columns[1]))
+                .password(column(values, columns[2]))
+                .firstName(column(values, columns[3]))
+                .lastName(column(values, columns[4]))
+                .build();
+    }
+
+    private static String column(List<String> values, int index) {
+        return index < values.size() ? values.get(index) : null;
+    }
+
+    private record PendingRow(long line, User user, CompletableFuture<String> hash) {
+    }
+
+    private static final class Batch {
+        private final List<PendingRow> rows = new ArrayList<>();
+        private final Set<String> usernames = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+
+        int size() {
+            return rows.size();
+        }
+
+        void clear() {
+            rows.clear();
+            usernames.clear();
+            emails.clear();
+        }
+    }
+}
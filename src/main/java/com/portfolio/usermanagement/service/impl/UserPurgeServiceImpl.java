@@ -0,0 +1,84 @@
+package com.portfolio.usermanagement.service.impl;
+
+import com.portfolio.usermanagement.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Hard-deletes soft-deleted users and their dependent rows in the background.
+ * Each batch is one short statement over at most {@code batchSize} users, and a run stops
+ * after {@code maxBatches} or as soon as the connection pool gets busy, so purging only
+ * uses capacity that requests leave idle. Whatever is left is picked up by the next run.
+ */
+@Slf4j
+@Service
+public class UserPurgeServiceImpl {
+
+    private final UserRepository userRepository;
+    private final HikariDataSource hikari;
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatches;
+    private final int maxActiveConnections;
+
+    public UserPurgeServiceImpl(UserRepository userRepository,
+                                DataSource dataSource,
+                                @Value("${app.purge.retention:PT1H}") Duration retention,
+                                @Value("${app.purge.batch-size:200}") int batchSize,
+                                @Value("${app.purge.max-batches:50}") int maxBatches,
+                                @Value("${app.purge.max-active-connections:2}") int maxActiveConnections) {
+        this.userRepository = userRepository;
+        this.hikari = hikariOf(dataSource);
+        this.retention = retention;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.maxActiveConnections = maxActiveConnections;
+    }
+
+    @Scheduled(fixedDelayString = "${app.purge.interval-ms:300000}", initialDelayString = "${app.purge.interval-ms:300000}")
+    public void purgeDeletedUsers() {
+        LocalDateTime deletedBefore = LocalDateTime.now().minus(retention);
+        long total = 0;
+        for (int batch = 0; batch < maxBatches && isQuiet(); batch++) {
+            int purged = userRepository.purgeDeleted(deletedBefore, batchSize);
+            total += purged;
+            if (purged < batchSize) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Purged {} deleted users", total);
+        }
+    }
+
+    /**
+     * True when no request is waiting for a connection and few are in use.
+     * Without a Hikari pool to ask, every moment counts as quiet.
+     */
+    boolean isQuiet() {
+        // Null until the pool has handed out its first connection
+        HikariPoolMXBean pool = hikari != null ? hikari.getHikariPoolMXBean() : null;
+        return pool == null
+                || (pool.getThreadsAwaitingConnection() == 0 && pool.getActiveConnections() <= maxActiveConnections);
+    }
+
+    private static HikariDataSource hikariOf(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class);
+            }
+        } catch (SQLException e) {
+            log.warn("Cannot inspect the connection pool, purging without load checks", e);
+        }
+        return null;
+    }
+}
@@ -1,46 +1,125 @@
 package com.portfolio.usermanagement.service.impl;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.portfolio.usermanagement.domain.valueobject.Email;
+import com.portfolio.usermanagement.domain.valueobject.FullName;
+import com.portfolio.usermanagement.dto.request.UserCursor;
+import com.portfolio.usermanagement.dto.request.UserETag;
+import com.portfolio.usermanagement.dto.request.UserQueryRequest;
+import com.portfolio.usermanagement.dto.response.CursorPage;
 import com.portfolio.usermanagement.dto.response.UserResponse;
+import com.portfolio.usermanagement.entity.Role;
 import com.portfolio.usermanagement.entity.User;
+import com.portfolio.usermanagement.event.UserChangedEvent;
+import com.portfolio.usermanagement.exception.BadRequestException;
+import com.portfolio.usermanagement.exception.ConflictException;
+import com.portfolio.usermanagement.exception.ErrorCode;
+import com.portfolio.usermanagement.exception.PreconditionFailedException;
 import com.portfolio.usermanagement.exception.ResourceNotFoundException;
 import com.portfolio.usermanagement.repository.UserRepository;
+import com.portfolio.usermanagement.repository.UserSpecifications;
+import com.portfolio.usermanagement.repository.projection.DeletedUser;
+import com.portfolio.usermanagement.repository.projection.PatchedUser;
+import com.portfolio.usermanagement.repository.projection.UserView;
 import com.portfolio.usermanagement.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class UserServiceImpl implements UserService {
 
+    /**
+     * Longest creation range that on its own makes a query selective enough to run.
+     */
+    static final Duration MAX_CREATED_RANGE = Duration.ofDays(31);
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private AuditorAware<String> auditorProvider;
+
     @Override
     @Transactional(readOnly = true)
     public Page<UserResponse> getAllUsers(Pageable pageable) {
-        return userRepository.findAll(pageable).map(this::convertToResponse);
+        return userRepository.findAllViews(pageable).map(UserView::toResponse);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> getUsersAfter(UserCursor cursor, int size, boolean includeTotal) {
+        int limit = Math.max(size, 1);
+        List<UUID> ids = userRepository.findIdsPageAfter(cursor.createdAt(), cursor.id(), limit + 1);
+        CursorPage<UserResponse> page = toCursorPage(viewsInOrder(ids), limit);
+        if (includeTotal) {
+            long estimate = userRepository.estimateCount();
+            page.setApproximateTotal(estimate >= 0 ? estimate : null);
+        }
+        return page;
     }
 
     @Override
     @Transactional(readOnly = true)
     public UserResponse getUserById(UUID id) {
-        User user = userRepository.findById(id)
+        return getUserView(id).toResponse();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserView getUserView(UUID id) {
+        return userRepository.findViewById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
-        return convertToResponse(user);
     }
 
     @Override
     @Transactional(readOnly = true)
     public UserResponse getCurrentUser(String username) {
-        User user = userRepository.findByUsername(username)
+        return getCurrentUserView(username).toResponse();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserView getCurrentUserView(String username) {
+        return userRepository.findViewByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    }
+
+    /**
+     * Entity tag of the user, read from the users row alone; lets a conditional GET be
+     * answered without building the full view.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public UserETag getCurrentUserETag(String username) {
+        return userRepository.findETagByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
-        return convertToResponse(user);
     }
 
     @Override
@@ -48,25 +127,92 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
 
+        String previousEmail = user.getEmail();
         user.setFirstName(userDetails.getFirstName());
         user.setLastName(userDetails.getLastName());
         user.setEmail(userDetails.getEmail());
 
         User updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.updated(id, user.getUsername(), previousEmail,
+                updatedUser.getUsername(), updatedUser.getEmail()));
         return convertToResponse(updatedUser);
     }
 
+    /**
+     * Apply a JSON Merge Patch (RFC 7386). Only the members present are validated, through
+     * the domain value objects, and only their columns are written, in one UPDATE that also
+     * returns the response row. An empty patch changes nothing.
+     * <p>
+     * With an expected tag (If-Match) the version check is part of that UPDATE; only when it
+     * writes nothing is the user looked up, to tell a stale tag from a missing user.
+     */
+    @Override
+    public UserView patchUser(UUID id, JsonNode patch, UserETag expected) {
+        Map<String, Object> columns = patchColumns(patch);
+        if (columns.isEmpty()) {
+            UserView current = getUserView(id);
+            checkPrecondition(current.etag(), expected);
+            return current;
+        }
+
+        String actor = auditorProvider.getCurrentAuditor().orElse("system");
+        PatchedUser patched;
+        try {
+            patched = userRepository.updateColumns(id, columns, expected, LocalDateTime.now(), actor)
+                    .orElseThrow(() -> expected != null && userRepository.existsById(id)
+                            ? new PreconditionFailedException("User has changed since it was last read")
+                            : new ResourceNotFoundException("User", "id", id));
+        } catch (DuplicateKeyException e) {
+            throw new ConflictException("Email is already in use", ErrorCode.EMAIL_ALREADY_EXISTS);
+        }
+
+        UserView user = patched.user();
+        eventPublisher.publishEvent(UserChangedEvent.updated(id, user.username(), patched.previousEmail(),
+                user.username(), user.email()));
+        return user;
+    }
+
     @Override
     public void deleteUser(UUID id) {
-        User user = userRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id));
-        userRepository.delete(user);
+        deleteUser(id, null);
+    }
+
+    /**
+     * Soft-delete a user, optionally only if it still has the expected tag. The tag is checked
+     * by the UPDATE itself; the user's data is removed later by {@link UserPurgeServiceImpl}.
+     */
+    @Override
+    public void deleteUser(UUID id, UserETag expected) {
+        String actor = auditorProvider.getCurrentAuditor().orElse("system");
+        DeletedUser user = userRepository.markDeleted(id, expected, LocalDateTime.now(), actor)
+                .orElseThrow(() -> expected != null && userRepository.existsById(id)
+                        ? new PreconditionFailedException("User has changed since it was last read")
+                        : new ResourceNotFoundException("User", "id", id));
+        eventPublisher.publishEvent(UserChangedEvent.deleted(id, user.username(), user.email()));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<UserResponse> searchUsers(String search, Pageable pageable) {
-        return userRepository.searchUsers(search, pageable).map(this::convertToResponse);
+        String term = search.trim().toLowerCase(Locale.ROOT);
+        return toViewPage(userRepository.searchUserIds(containsPattern(term), term, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponse> searchUsersAfter(String search, UserCursor cursor, int size) {
+        int limit = Math.max(size, 1);
+        String pattern = containsPattern(search.trim().toLowerCase(Locale.ROOT));
+        List<UUID> ids = userRepository.searchIdsPageAfter(pattern, cursor.createdAt(), cursor.id(), limit + 1);
+        return toCursorPage(viewsInOrder(ids), limit);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<UserResponse> queryUsers(UserQueryRequest filter, Pageable pageable) {
+        Slice<UUID> ids = userRepository.findIds(toSpecification(filter), pageable);
+        List<UserResponse> content = viewsInOrder(ids.getContent()).stream().map(UserView::toResponse).toList();
+        return new SliceImpl<>(content, ids.getPageable(), ids.hasNext());
     }
 
     @Override
@@ -81,6 +227,105 @@ public class UserServiceImpl implements UserService {
         return userRepository.existsByEmail(email);
     }
 
+    /**
+     * Combine the requested filters into one specification.
+     * Enabled and role alone match large parts of the table, so at least one filter backed by a
+     * selective index is required: email domain, name prefix of 2+ characters, or a creation
+     * range with both ends at most {@link #MAX_CREATED_RANGE} apart. An open-ended or wide
+     * range reads most of the created_at index and only narrows another filter.
+     */
+    static Specification<User> toSpecification(UserQueryRequest filter) {
+        LocalDateTime createdFrom = filter.getCreatedFrom();
+        LocalDateTime createdTo = filter.getCreatedTo();
+        if (createdFrom != null && createdTo != null && createdFrom.isAfter(createdTo)) {
+            throw new BadRequestException("createdFrom must not be after createdTo");
+        }
+        boolean hasDomain = filter.getEmailDomain() != null && !filter.getEmailDomain().isBlank();
+        boolean hasNamePrefix = filter.getNamePrefix() != null && filter.getNamePrefix().trim().length() >= 2;
+        boolean hasBoundedRange = createdFrom != null && createdTo != null
+                && !createdFrom.plus(MAX_CREATED_RANGE).isBefore(createdTo);
+        if (!hasDomain && !hasNamePrefix && !hasBoundedRange) {
+            throw new BadRequestException("Query requires emailDomain, namePrefix (2+ characters), "
+                    + "or createdFrom and createdTo at most " + MAX_CREATED_RANGE.toDays() + " days apart");
+        }
+
+        List<Specification<User>> specs = new ArrayList<>();
+        if (hasDomain) {
+            specs.add(UserSpecifications.emailDomain(filter.getEmailDomain()));
+        }
+        if (hasNamePrefix) {
+            specs.add(UserSpecifications.namePrefix(filter.getNamePrefix()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            specs.add(UserSpecifications.createdOnOrAfter(filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            specs.add(UserSpecifications.createdBefore(filter.getCreatedTo()));
+        }
+        if (filter.getEnabled() != null) {
+            specs.add(UserSpecifications.isEnabled(filter.getEnabled()));
+        }
+        if (filter.getRole() != null && !filter.getRole().isBlank()) {
+            specs.add(UserSpecifications.hasRole(parseRole(filter.getRole())));
+        }
+        return Specification.allOf(specs);
+    }
+
+    static Role.RoleName parseRole(String role) {
+        String name = role.trim().toUpperCase(Locale.ROOT);
+        try {
+            return Role.RoleName.valueOf(name.startsWith("ROLE_") ? name : "ROLE_" + name);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown role: " + role);
+        }
+    }
+
+    /**
+     * LIKE pattern matching the term anywhere, with the term's own wildcards taken literally.
+     */
+    private static String containsPattern(String term) {
+        String escaped = term.replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return "%" + escaped + "%";
+    }
+
+    /**
+     * List rows of the given users in the order of the ids, read with one query.
+     */
+    private List<UserView> viewsInOrder(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, UserView> views = userRepository.findViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(UserView::id, Function.identity()));
+        // A user deleted between the two queries is left out
+        return ids.stream().map(views::get).filter(Objects::nonNull).toList();
+    }
+
+    private Page<UserResponse> toViewPage(Page<UUID> ids) {
+        List<UserResponse> content = viewsInOrder(ids.getContent()).stream().map(UserView::toResponse).toList();
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
+    }
+
+    /**
+     * Build a page from a result fetched with one extra row, which only signals that more exist.
+     */
+    private CursorPage<UserResponse> toCursorPage(List<UserView> users, int limit) {
+        boolean hasNext = users.size() > limit;
+        List<UserView> content = hasNext ? users.subList(0, limit) : users;
+        String next = null;
+        if (hasNext) {
+            UserView last = content.get(content.size() - 1);
+            next = new UserCursor(last.createdAt(), last.id()).encode();
+        }
+        return CursorPage.<UserResponse>builder()
+                .content(content.stream().map(UserView::toResponse).toList())
+                .size(content.size())
+                .next(next)
+                .build();
+    }
+
     private UserResponse convertToResponse(User user) {
         return UserResponse.builder()
                 .id(user.getId())
@@ -96,4 +341,44 @@ public class UserServiceImpl implements UserService {
                 .updatedAt(user.getUpdatedAt())
                 .build();
     }
+
+    private static Map<String, Object> patchColumns(JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            throw new BadRequestException("Patch document must be a JSON object");
+        }
+
+        Map<String, Object> columns = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            try {
+                switch (field.getKey()) {
+                    case "email" -> columns.put("email", Email.of(patchText(field)).getValue());
+                    case "firstName" -> columns.put("first_name", FullName.part(patchText(field), "First name"));
+                    case "lastName" -> columns.put("last_name", FullName.part(patchText(field), "Last name"));
+                    default -> throw new BadRequestException("Field cannot be patched: " + field.getKey());
+                }
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException(e.getMessage(), ErrorCode.VALIDATION_FAILED);
+            }
+        }
+        return columns;
+    }
+
+    private static String patchText(Map.Entry<String, JsonNode> field) {
+        if (field.getValue().isNull()) {
+            // In a merge patch null means "remove", and none of these fields is optional
+            throw new BadRequestException(field.getKey() + " cannot be removed", ErrorCode.MISSING_REQUIRED_FIELD);
+        }
+        if (!field.getValue().isTextual()) {
+            throw new BadRequestException(field.getKey() + " must be a string", ErrorCode.VALIDATION_FAILED);
+        }
+        return field.getValue().textValue();
+    }
+
+    private static void checkPrecondition(UserETag current, UserETag expected) {
+        if (expected != null && !expected.equals(current)) {
+            throw new PreconditionFailedException("User has changed since it was last read");
+        }
+    }
 }
@@ -0,0 +1,7 @@
+-- Composite index for keyset pagination on (created_at, id)
+-- Supersedes the single-column created_at index: its leading column serves the same lookups
+
+CREATE INDEX idx_user_created_at_id ON users(created_at, id);
+DROP INDEX IF EXISTS idx_user_created_at;
+
+COMMENT ON INDEX idx_user_created_at_id IS 'Keyset pagination and export order for users';
@@ -0,0 +1,19 @@
+-- Trigram indexes for admin user search
+-- Substring matches (LIKE '%term%') cannot use the btree indexes on username/email;
+-- GIN trigram indexes on the lower-cased columns serve them and allow similarity ranking
+--
+-- Locking: CREATE INDEX holds a SHARE lock on users while it builds, so inserts, updates and
+-- deletes of users wait for both builds (reads go on); GIN builds are slow on large tables.
+-- Flyway runs this script in a transaction, where CONCURRENTLY is not allowed. On a large
+-- table, build the indexes beforehand outside Flyway:
+--   CREATE INDEX CONCURRENTLY idx_user_username_trgm ON users USING gin (lower(username) gin_trgm_ops);
+--   CREATE INDEX CONCURRENTLY idx_user_email_trgm ON users USING gin (lower(email) gin_trgm_ops);
+-- and this migration skips them.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_user_username_trgm ON users USING gin (lower(username) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_user_email_trgm ON users USING gin (lower(email) gin_trgm_ops);
+
+COMMENT ON INDEX idx_user_username_trgm IS 'Substring and similarity search on username';
+COMMENT ON INDEX idx_user_email_trgm IS 'Substring and similarity search on email';
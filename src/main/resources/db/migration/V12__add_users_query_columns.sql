@@ -0,0 +1,23 @@
+-- Derived, indexed columns for the admin user query API
+-- Stored generated columns keep the filter expressions plain column references,
+-- so both JPA criteria queries and the indexes below see the same thing
+--
+-- Locking: adding a STORED generated column rewrites the whole users table under an ACCESS
+-- EXCLUSIVE lock, so every read and write of users waits until the rewrite and the two index
+-- builds below have committed. The wait grows with the table (minutes for millions of rows);
+-- run it in a maintenance window on large installations. There is no online variant of this
+-- statement: avoiding the rewrite would mean plain columns kept by a trigger and backfilled
+-- in batches.
+
+ALTER TABLE users
+    ADD COLUMN email_domain VARCHAR(100) GENERATED ALWAYS AS (lower(split_part(email, '@', 2))) STORED,
+    ADD COLUMN search_name VARCHAR(101) GENERATED ALWAYS AS (lower(first_name || ' ' || last_name)) STORED;
+
+-- Email domain filter, newest first
+CREATE INDEX idx_user_email_domain_created_at ON users(email_domain, created_at DESC);
+
+-- Name prefix filter (LIKE 'abc%')
+CREATE INDEX idx_user_search_name_prefix ON users(search_name text_pattern_ops);
+
+COMMENT ON COLUMN users.email_domain IS 'Lower-cased domain part of email, maintained by PostgreSQL';
+COMMENT ON COLUMN users.search_name IS 'Lower-cased "first last" name for prefix filtering, maintained by PostgreSQL';
@@ -0,0 +1,62 @@
+-- Denormalized role membership on users
+-- Bit n of role_mask is set when the user holds the role with ordinal n of Role.RoleName,
+-- so authentication and authorization checks read a single users row without joining
+-- user_roles. user_roles stays the source of truth; the triggers below keep the mask in
+-- step within the same transaction.
+
+CREATE FUNCTION role_name_bit(role_name VARCHAR) RETURNS INTEGER
+    LANGUAGE sql IMMUTABLE AS
+$$
+    SELECT CASE role_name
+        WHEN 'ROLE_USER' THEN 1
+        WHEN 'ROLE_ADMIN' THEN 2
+        WHEN 'ROLE_MODERATOR' THEN 4
+        ELSE 0
+    END
+$$;
+
+ALTER TABLE users ADD COLUMN role_mask INTEGER NOT NULL DEFAULT 0;
+
+UPDATE users u
+SET role_mask = m.mask
+FROM (
+    SELECT ur.user_id, bit_or(role_name_bit(r.name)) AS mask
+    FROM user_roles ur
+    JOIN roles r ON r.id = ur.role_id
+    GROUP BY ur.user_id
+) m
+WHERE u.id = m.user_id;
+
+-- Statement-level so a multi-row insert (registration CTE, bulk import) updates each user once
+CREATE FUNCTION sync_users_role_mask() RETURNS TRIGGER
+    LANGUAGE plpgsql AS
+$$
+BEGIN
+    UPDATE users u
+    SET role_mask = COALESCE((
+        SELECT bit_or(role_name_bit(r.name))
+        FROM user_roles ur
+        JOIN roles r ON r.id = ur.role_id
+        WHERE ur.user_id = u.id
+    ), 0)
+    WHERE u.id IN (SELECT DISTINCT user_id FROM changed_links);
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER trg_user_roles_insert_mask
+    AFTER INSERT ON user_roles
+    REFERENCING NEW TABLE AS changed_links
+    FOR EACH STATEMENT EXECUTE FUNCTION sync_users_role_mask();
+
+CREATE TRIGGER trg_user_roles_delete_mask
+    AFTER DELETE ON user_roles
+    REFERENCING OLD TABLE AS changed_links
+    FOR EACH STATEMENT EXECUTE FUNCTION sync_users_role_mask();
+
+-- Privileged roles are rare; partial indexes keep "all admins / moderators" listings small.
+-- They match queries filtering on (role_mask & 2) <> 0 and (role_mask & 4) <> 0.
+CREATE INDEX idx_user_role_admin ON users(created_at) WHERE (role_mask & 2) <> 0;
+CREATE INDEX idx_user_role_moderator ON users(created_at) WHERE (role_mask & 4) <> 0;
+
+COMMENT ON COLUMN users.role_mask IS 'Bitmask of role_name_bit() over user_roles, maintained by trigger';
@@ -0,0 +1,7 @@
+-- Optimistic locking for users
+-- Incremented by Hibernate on every entity update and by the partial-update statement,
+-- so writers can detect concurrent changes and clients can send If-Match.
+
+ALTER TABLE users ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN users.version IS 'Optimistic lock version, incremented on every update of the row';
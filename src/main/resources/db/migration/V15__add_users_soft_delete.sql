@@ -0,0 +1,18 @@
+-- Soft delete for users
+-- Deleting a user only stamps deleted_at, so the request path is one UPDATE. The rows are
+-- hidden from every read straight away and their dependent data is purged later in small
+-- batches by the background purger.
+
+ALTER TABLE users ADD COLUMN deleted_at TIMESTAMP;
+
+-- Listings and exports only ever read live users: restrict the keyset index to them.
+-- It matches queries filtering on deleted_at IS NULL, which every read of users does.
+CREATE INDEX idx_user_live_created_at_id ON users(created_at, id) WHERE deleted_at IS NULL;
+DROP INDEX IF EXISTS idx_user_created_at_id;
+
+-- Deleted users are few at any time; the purger walks them oldest first.
+CREATE INDEX idx_user_deleted_at ON users(deleted_at) WHERE deleted_at IS NOT NULL;
+
+COMMENT ON COLUMN users.deleted_at IS 'When the user was deleted; NULL for live users. Deleted rows await purging';
+COMMENT ON INDEX idx_user_live_created_at_id IS 'Keyset pagination and export order for live users';
+COMMENT ON INDEX idx_user_deleted_at IS 'Soft-deleted users in purge order';
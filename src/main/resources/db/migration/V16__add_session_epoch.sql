@@ -0,0 +1,10 @@
+-- Session epochs
+-- Every access and refresh token records the user's session epoch when it is issued; a
+-- token whose epoch no longer matches the user's is rejected. Ending all sessions of any
+-- number of users is then one UPDATE on users instead of one per refresh token.
+
+ALTER TABLE users ADD COLUMN session_epoch INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE refresh_tokens ADD COLUMN session_epoch INTEGER NOT NULL DEFAULT 0;
+
+COMMENT ON COLUMN users.session_epoch IS 'Incremented to invalidate all tokens issued to the user so far';
+COMMENT ON COLUMN refresh_tokens.session_epoch IS 'Session epoch of the user when the token was issued';
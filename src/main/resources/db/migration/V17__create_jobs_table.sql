@@ -0,0 +1,37 @@
+-- Background jobs
+-- Long-running admin work (bulk operations, ...) is queued here and picked up by the job
+-- dispatcher of any instance. Progress is checkpointed with a handler-defined cursor, so a
+-- job whose instance died resumes where it stopped instead of starting over.
+
+CREATE TABLE jobs (
+    id UUID PRIMARY KEY,
+    type VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    payload TEXT NOT NULL,
+    job_cursor TEXT,
+    processed BIGINT NOT NULL DEFAULT 0,
+    affected BIGINT NOT NULL DEFAULT 0,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    locked_by VARCHAR(100),
+    error TEXT,
+    started_at TIMESTAMP,
+    heartbeat_at TIMESTAMP,
+    finished_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP,
+    created_by VARCHAR(50),
+    modified_by VARCHAR(50)
+);
+
+-- Only queued and running jobs are ever scanned by the dispatcher
+CREATE INDEX idx_jobs_pending ON jobs(created_at) WHERE status IN ('QUEUED', 'RUNNING');
+CREATE INDEX idx_jobs_finished_at ON jobs(finished_at) WHERE finished_at IS NOT NULL;
+
+COMMENT ON TABLE jobs IS 'Background jobs with progress checkpoints';
+COMMENT ON COLUMN jobs.type IS 'Handler the job is dispatched to';
+COMMENT ON COLUMN jobs.status IS 'QUEUED, RUNNING, COMPLETED or FAILED';
+COMMENT ON COLUMN jobs.payload IS 'Handler input as JSON';
+COMMENT ON COLUMN jobs.job_cursor IS 'Last checkpoint written by the handler; where a resumed run starts';
+COMMENT ON COLUMN jobs.attempts IS 'Number of times the job was claimed, including resumptions';
+COMMENT ON COLUMN jobs.locked_by IS 'Instance currently running the job';
+COMMENT ON COLUMN jobs.heartbeat_at IS 'Last sign of life from the running instance';
@@ -0,0 +1,5 @@
+-- Blacklist front cache
+-- Every instance keeps the live blacklist in memory and polls for entries added since its
+-- last poll, which needs an index on blacklisted_at.
+
+CREATE INDEX idx_blacklisted_at ON blacklisted_tokens(blacklisted_at);
@@ -0,0 +1,5 @@
+-- Suggestion index refresh
+-- Every instance keeps usernames and emails in memory and polls for users written since its
+-- last poll, by any instance, which needs an index on updated_at.
+
+CREATE INDEX idx_user_updated_at ON users(updated_at);
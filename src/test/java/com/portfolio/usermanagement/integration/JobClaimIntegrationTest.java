@@ -0,0 +1,210 @@
+package com.portfolio.usermanagement.integration;
+
+import com.portfolio.usermanagement.config.AuditorAwareImpl;
+import com.portfolio.usermanagement.entity.Job;
+import com.portfolio.usermanagement.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The {@link JobRepository} statements dispatchers coordinate through, on the schema built by
+ * the Flyway migrations. Runs outside a test transaction so concurrent claims really commit.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(AuditorAwareImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobClaimIntegrationTest {
+
+    private static final Duration STALE_AFTER = Duration.ofMinutes(2);
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> true);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM jobs");
+        now = LocalDateTime.now();
+    }
+
+    @Test
+    void claimNext_FromTwoDispatchersAtOnce_ShouldNeverClaimAJobTwice() throws Exception {
+        // Arrange
+        int jobs = 50;
+        for (int i = 0; i < jobs; i++) {
+            insertQueued("BULK_USER", now.minusSeconds(jobs - i));
+        }
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        List<UUID> claimedByA;
+        List<UUID> claimedByB;
+        try {
+            Future<List<UUID>> a = executor.submit(claimAll("node-a", start));
+            Future<List<UUID>> b = executor.submit(claimAll("node-b", start));
+            start.countDown();
+            claimedByA = a.get();
+            claimedByB = b.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        Set<UUID> distinct = new HashSet<>(claimedByA);
+        distinct.addAll(claimedByB);
+        assertThat(distinct).hasSize(claimedByA.size() + claimedByB.size());
+        assertThat(distinct).hasSize(jobs);
+        assertThat(count("status = 'RUNNING' AND attempts = 1")).isEqualTo(distinct.size());
+        assertThat(count("locked_by = 'node-a'")).isEqualTo(claimedByA.size());
+        assertThat(count("locked_by = 'node-b'")).isEqualTo(claimedByB.size());
+    }
+
+    @Test
+    void claimNext_WhenTheHolderStoppedSendingHeartbeats_ShouldTakeTheJobOver() {
+        // Arrange
+        UUID stale = insertRunning("BULK_USER", "node-dead", now.minusMinutes(10), 1, "cursor-7");
+        insertRunning("BULK_USER", "node-alive", now.minusSeconds(5), 1, null);
+        insertRunning("BULK_USER", "node-gone", now.minusMinutes(10), MAX_ATTEMPTS, null);
+
+        // Act
+        Optional<Job> claimed = claim("node-b");
+
+        // Assert
+        assertThat(claimed).get().satisfies(job -> {
+            assertThat(job.getId()).isEqualTo(stale);
+            assertThat(job.getLockedBy()).isEqualTo("node-b");
+            assertThat(job.getAttempts()).isEqualTo(2);
+            assertThat(job.getCursor()).isEqualTo("cursor-7");
+        });
+        assertThat(claim("node-b")).isEmpty();
+        assertThat(jobRepository.checkpoint(stale, "node-dead", "cursor-8", 1, 1, now)).isZero();
+    }
+
+    @Test
+    void claimNext_AfterRelease_ShouldResumeFromTheLastCheckpoint() {
+        // Arrange
+        UUID id = insertQueued("BULK_USER", now.minusMinutes(1));
+        assertThat(claim("node-a")).isPresent();
+        assertThat(jobRepository.checkpoint(id, "node-a", "cursor-100", 100, 40, now)).isEqualTo(1);
+        assertThat(jobRepository.release(id, "node-a", Job.Status.QUEUED)).isEqualTo(1);
+
+        // Act
+        Optional<Job> resumed = claim("node-b");
+
+        // Assert
+        assertThat(resumed).get().satisfies(job -> {
+            assertThat(job.getId()).isEqualTo(id);
+            assertThat(job.getCursor()).isEqualTo("cursor-100");
+            assertThat(job.getProcessed()).isEqualTo(100);
+            assertThat(job.getAffected()).isEqualTo(40);
+            assertThat(job.getAttempts()).isEqualTo(2);
+        });
+    }
+
+    @Test
+    void claimNext_ShouldPreferTheTypeWithFewestRunningJobs() {
+        // Arrange
+        UUID firstExport = insertQueued("EXPORT", now.minusMinutes(30));
+        UUID secondExport = insertQueued("EXPORT", now.minusMinutes(20));
+        insertQueued("EXPORT", now.minusMinutes(10));
+        UUID bulk = insertQueued("BULK_USER", now.minusMinutes(1));
+
+        // Act
+        List<UUID> order = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            order.add(claim("node-a").orElseThrow().getId());
+        }
+
+        // Assert: the newer job of an idle type goes ahead of an older backlog
+        assertThat(order).containsExactly(firstExport, bulk, secondExport);
+    }
+
+    private Callable<List<UUID>> claimAll(String node, CountDownLatch start) {
+        return () -> {
+            start.await();
+            List<UUID> claimed = new ArrayList<>();
+            Optional<Job> job;
+            while ((job = claim(node)).isPresent()) {
+                claimed.add(job.get().getId());
+            }
+            return claimed;
+        };
+    }
+
+    private Optional<Job> claim(String node) {
+        LocalDateTime at = LocalDateTime.now();
+        return jobRepository.claimNext(node, at, at.minus(STALE_AFTER), MAX_ATTEMPTS);
+    }
+
+    private UUID insertQueued(String type, LocalDateTime createdAt) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO jobs (id, type, status, payload, created_at) VALUES (?, ?, 'QUEUED', '{}', ?)",
+                id, type, createdAt);
+        return id;
+    }
+
+    private UUID insertRunning(String type, String lockedBy, LocalDateTime heartbeatAt, int attempts, String cursor) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO jobs (id, type, status, payload, job_cursor, attempts, locked_by, " +
+                        "started_at, heartbeat_at, created_at) VALUES (?, ?, 'RUNNING', '{}', ?, ?, ?, ?, ?, ?)",
+                id, type, cursor, attempts, lockedBy, heartbeatAt, heartbeatAt, heartbeatAt.minusMinutes(1));
+        return id;
+    }
+
+    private int count(String condition) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM jobs WHERE " + condition, Integer.class);
+    }
+}
@@ -0,0 +1,128 @@
+package com.portfolio.usermanagement.integration;
+
+import com.portfolio.usermanagement.config.AuditorAwareImpl;
+import com.portfolio.usermanagement.entity.Role;
+import com.portfolio.usermanagement.repository.UserRepository;
+import com.portfolio.usermanagement.repository.UserSpecifications;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The V13 statement-level triggers that keep users.role_mask in step with user_roles,
+ * on the schema built by the Flyway migrations.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(AuditorAwareImpl.class)
+class RoleMaskTriggerIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> true);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private UUID alice;
+    private UUID bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = insertUser("alice");
+        bob = insertUser("bob");
+    }
+
+    @Test
+    void insertingAndDeletingLinks_ShouldKeepTheMaskInStep() {
+        // Act & Assert
+        link(alice, Role.RoleName.ROLE_USER);
+        assertThat(mask(alice)).isEqualTo(Role.RoleName.ROLE_USER.bit());
+
+        link(alice, Role.RoleName.ROLE_ADMIN);
+        assertThat(mask(alice)).isEqualTo(Role.RoleName.ROLE_USER.bit() | Role.RoleName.ROLE_ADMIN.bit());
+
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id = ? AND role_id = (SELECT id FROM roles WHERE name = ?)",
+                alice, Role.RoleName.ROLE_USER.name());
+        assertThat(mask(alice)).isEqualTo(Role.RoleName.ROLE_ADMIN.bit());
+        assertThat(mask(bob)).isZero();
+    }
+
+    @Test
+    void multiRowStatements_ShouldUpdateEveryUserTheyTouch() {
+        // Act: one INSERT linking two roles to each of two users
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) " +
+                "SELECT u.id, r.id FROM users u CROSS JOIN roles r " +
+                "WHERE u.id IN (?, ?) AND r.name IN ('ROLE_ADMIN', 'ROLE_MODERATOR')", alice, bob);
+
+        // Assert
+        int adminAndModerator = Role.RoleName.ROLE_ADMIN.bit() | Role.RoleName.ROLE_MODERATOR.bit();
+        assertThat(mask(alice)).isEqualTo(adminAndModerator);
+        assertThat(mask(bob)).isEqualTo(adminAndModerator);
+
+        // Act: one DELETE removing a role from both, then all links of one
+        jdbcTemplate.update("DELETE FROM user_roles WHERE role_id = (SELECT id FROM roles WHERE name = 'ROLE_ADMIN')");
+        assertThat(mask(alice)).isEqualTo(Role.RoleName.ROLE_MODERATOR.bit());
+        assertThat(mask(bob)).isEqualTo(Role.RoleName.ROLE_MODERATOR.bit());
+
+        jdbcTemplate.update("DELETE FROM user_roles WHERE user_id = ?", bob);
+        assertThat(mask(alice)).isEqualTo(Role.RoleName.ROLE_MODERATOR.bit());
+        assertThat(mask(bob)).isZero();
+    }
+
+    @Test
+    void hasRoleSpecification_ShouldSelectUsersByTheMaintainedMask() {
+        // Arrange
+        link(alice, Role.RoleName.ROLE_ADMIN);
+        link(bob, Role.RoleName.ROLE_USER);
+
+        // Act & Assert
+        assertThat(userRepository.findIds(UserSpecifications.hasRole(Role.RoleName.ROLE_ADMIN), PageRequest.of(0, 10)))
+                .containsExactly(alice);
+    }
+
+    private UUID insertUser(String username) {
+        return jdbcTemplate.queryForObject("INSERT INTO users (username, email, password, first_name, last_name) " +
+                "VALUES (?, ?, 'hashedPassword', 'Mask', 'Test') RETURNING id", UUID.class, username, username + "@test.com");
+    }
+
+    private void link(UUID userId, Role.RoleName roleName) {
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) SELECT ?, id FROM roles WHERE name = ?",
+                userId, roleName.name());
+    }
+
+    private int mask(UUID userId) {
+        return jdbcTemplate.queryForObject("SELECT role_mask FROM users WHERE id = ?", Integer.class, userId);
+    }
+}
@@ -0,0 +1,143 @@
+package com.portfolio.usermanagement.integration;
+
+import com.portfolio.usermanagement.config.AuditorAwareImpl;
+import com.portfolio.usermanagement.entity.Role;
+import com.portfolio.usermanagement.entity.User;
+import com.portfolio.usermanagement.repository.RoleRepository;
+import com.portfolio.usermanagement.repository.UserRepository;
+import com.portfolio.usermanagement.repository.projection.UserView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(AuditorAwareImpl.class)
+class UserListQueryIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> false);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> true);
+    }
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        roleRepository.deleteAll();
+
+        Role userRole = roleRepository.save(new Role(Role.RoleName.ROLE_USER, "Standard user"));
+        Role adminRole = roleRepository.save(new Role(Role.RoleName.ROLE_ADMIN, "Administrator"));
+
+        for (int i = 0; i < 40; i++) {
+            Set<Role> roles = new HashSet<>();
+            roles.add(userRole);
+            if (i % 4 == 0) {
+                roles.add(adminRole);
+            }
+            userRepository.save(User.builder()
+                    .username("listuser" + i)
+                    .email("listuser" + i + "@test.com")
+                    .password("hashedPassword")
+                    .firstName("List")
+                    .lastName("User")
+                    .roles(roles)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20, 40})
+    void findAllViews_ShouldUseAtMostTwoStatementsWhateverThePageSize(int pageSize) {
+        // Act
+        Page<UserView> page = userRepository.findAllViews(
+                PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "createdAt")));
+
+        // Assert
+        assertThat(page.getContent()).hasSize(pageSize);
+        assertThat(page.getTotalElements()).isEqualTo(40);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void findAllViews_ShouldAggregateRoleNamesPerUser() {
+        // Act
+        Page<UserView> page = userRepository.findAllViews(PageRequest.of(0, 40, Sort.by("username")));
+
+        // Assert
+        UserView admin = page.getContent().stream()
+                .filter(view -> view.username().equals("listuser0"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(admin.toResponse().getRoles()).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        assertThat(page.getContent()).allSatisfy(view -> assertThat(view.roles()).contains("ROLE_USER"));
+    }
+
+    @Test
+    void findViewByUsername_ShouldNotLoadEntities() {
+        // Act
+        UserView view = userRepository.findViewByUsername("listuser4").orElseThrow();
+
+        // Assert
+        assertThat(view.email()).isEqualTo("listuser4@test.com");
+        assertThat(userRepository.findViewById(view.id())).contains(view);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
@@ -0,0 +1,126 @@
+package com.portfolio.usermanagement.integration;
+
+import com.portfolio.usermanagement.config.AuditorAwareImpl;
+import com.portfolio.usermanagement.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The hard-delete statement behind the purge, on the schema built by the Flyway migrations.
+ */
+@DataJpaTest
+@Testcontainers
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(AuditorAwareImpl.class)
+class UserPurgeIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.enabled", () -> true);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private LocalDateTime now;
+    private UUID expired;
+    private UUID recentlyDeleted;
+    private UUID live;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now();
+        expired = insertUserWithDependants("expired", now.minusHours(2));
+        recentlyDeleted = insertUserWithDependants("recent", now.minusMinutes(10));
+        live = insertUserWithDependants("live", null);
+    }
+
+    @Test
+    void purgeDeleted_ShouldRemoveOnlyUsersDeletedBeforeTheCutOffWithTheirDependants() {
+        // Act
+        int purged = userRepository.purgeDeleted(now.minusHours(1), 10);
+
+        // Assert
+        assertThat(purged).isEqualTo(1);
+        assertThat(rows("users", "id", expired)).isZero();
+        assertThat(dependants(expired, "expired")).isZero();
+
+        assertThat(rows("users", "id", recentlyDeleted)).isEqualTo(1);
+        assertThat(dependants(recentlyDeleted, "recent")).isEqualTo(4);
+        assertThat(rows("users", "id", live)).isEqualTo(1);
+        assertThat(dependants(live, "live")).isEqualTo(4);
+    }
+
+    @Test
+    void purgeDeleted_ShouldTakeAtMostOneBatchOldestFirst() {
+        // Arrange
+        UUID oldest = insertUserWithDependants("oldest", now.minusDays(2));
+
+        // Act
+        int first = userRepository.purgeDeleted(now, 1);
+
+        // Assert
+        assertThat(first).isEqualTo(1);
+        assertThat(rows("users", "id", oldest)).isZero();
+        assertThat(rows("users", "id", expired)).isEqualTo(1);
+
+        assertThat(userRepository.purgeDeleted(now, 10)).isEqualTo(2);
+        assertThat(rows("users", "id", live)).isEqualTo(1);
+        assertThat(dependants(live, "live")).isEqualTo(4);
+    }
+
+    /**
+     * A user with a role link, a refresh token, a profile and a login attempt record.
+     */
+    private UUID insertUserWithDependants(String username, LocalDateTime deletedAt) {
+        UUID id = jdbcTemplate.queryForObject("INSERT INTO users (username, email, password, first_name, last_name, deleted_at) " +
+                "VALUES (?, ?, 'hashedPassword', 'Purge', 'Test', ?) RETURNING id",
+                UUID.class, username, username + "@test.com", deletedAt);
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role_id) SELECT ?, id FROM roles WHERE name = 'ROLE_USER'", id);
+        jdbcTemplate.update("INSERT INTO refresh_tokens (token, user_id, expiry_date, created_at) VALUES (?, ?, ?, ?)",
+                UUID.randomUUID().toString(), id, now.plusDays(1), now);
+        jdbcTemplate.update("INSERT INTO profiles (id, user_id) VALUES (?, ?)", UUID.randomUUID(), id);
+        jdbcTemplate.update("INSERT INTO login_attempts (username, attempt_count, first_attempt_time) VALUES (?, 1, ?)",
+                username, now);
+        return id;
+    }
+
+    private int dependants(UUID userId, String username) {
+        return rows("user_roles", "user_id", userId) + rows("refresh_tokens", "user_id", userId)
+                + rows("profiles", "user_id", userId) + rows("login_attempts", "username", username);
+    }
+
+    private int rows(String table, String column, Object value) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table + " WHERE " + column + " = ?", Integer.class, value);
+    }
+}
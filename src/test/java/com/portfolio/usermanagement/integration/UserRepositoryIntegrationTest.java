@@ -5,6 +5,7 @@ import com.portfolio.usermanagement.entity.Role;
 import com.portfolio.usermanagement.entity.User;
 import com.portfolio.usermanagement.repository.RoleRepository;
 import com.portfolio.usermanagement.repository.UserRepository;
+import com.portfolio.usermanagement.repository.projection.UserView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,7 +19,10 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -130,4 +134,62 @@ class UserRepositoryIntegrationTest {
         // Assert
         assertThat(exists).isFalse();
     }
+
+    @Test
+    void shouldStillCountSoftDeletedUsernameAsTaken() {
+        // Arrange
+        Set<Role> roles = new HashSet<>();
+        roles.add(userRole);
+
+        User user = User.builder()
+                .username("deleteduser")
+                .email("deleted@test.com")
+                .password("hashedPassword")
+                .firstName("Deleted")
+                .lastName("User")
+                .enabled(true)
+                .accountNonLocked(true)
+                .accountNonExpired(true)
+                .credentialsNonExpired(true)
+                .roles(roles)
+                .build();
+
+        User saved = userRepository.saveAndFlush(user);
+        userRepository.markDeleted(saved.getId(), null, LocalDateTime.now(), "test");
+
+        // Act & Assert
+        assertThat(userRepository.existsByUsername("deleteduser")).isFalse();
+        assertThat(userRepository.existsByUsernameIncludingDeleted("deleteduser")).isTrue();
+        assertThat(userRepository.existsByUsernameIncludingDeleted("nonexistentuser")).isFalse();
+    }
+
+    @Test
+    void shouldPageLiveUsersInCreationOrderByKeyset() {
+        // Arrange
+        List<User> saved = new ArrayList<>();
+        for (String name : List.of("first", "second", "gone", "third")) {
+            saved.add(userRepository.saveAndFlush(User.builder()
+                    .username(name)
+                    .email(name + "@test.com")
+                    .password("hashedPassword")
+                    .firstName("Export")
+                    .lastName("Test")
+                    .enabled(true)
+                    .accountNonLocked(true)
+                    .accountNonExpired(true)
+                    .credentialsNonExpired(true)
+                    .roles(new HashSet<>(Set.of(userRole)))
+                    .build()));
+        }
+        userRepository.markDeleted(saved.get(2).getId(), null, LocalDateTime.now(), "test");
+
+        // Act
+        List<UserView> firstChunk = userRepository.findViewsInCreationOrder(null, 2);
+        List<UserView> secondChunk = userRepository.findViewsInCreationOrder(firstChunk.get(1), 2);
+
+        // Assert
+        assertThat(firstChunk).extracting(UserView::username).containsExactly("first", "second");
+        assertThat(firstChunk.get(0).roles()).isEqualTo("ROLE_USER");
+        assertThat(secondChunk).extracting(UserView::username).containsExactly("third");
+    }
 }
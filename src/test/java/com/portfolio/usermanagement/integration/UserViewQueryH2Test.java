@@ -0,0 +1,132 @@
+package com.portfolio.usermanagement.integration;
+
+import com.portfolio.usermanagement.config.AuditorAwareImpl;
+import com.portfolio.usermanagement.dto.request.UserCursor;
+import com.portfolio.usermanagement.entity.Role;
+import com.portfolio.usermanagement.entity.User;
+import com.portfolio.usermanagement.repository.RoleRepository;
+import com.portfolio.usermanagement.repository.UserRepository;
+import com.portfolio.usermanagement.repository.UserSpecifications;
+import com.portfolio.usermanagement.repository.projection.UserView;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.ANY)
+@Import(AuditorAwareImpl.class)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class UserViewQueryH2Test {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        Role userRole = roleRepository.save(new Role(Role.RoleName.ROLE_USER, "Standard user"));
+        Role adminRole = roleRepository.save(new Role(Role.RoleName.ROLE_ADMIN, "Administrator"));
+        for (int i = 0; i < 6; i++) {
+            Set<Role> roles = new HashSet<>();
+            if (i > 0) {
+                roles.add(userRole);
+            }
+            if (i % 2 == 0) {
+                roles.add(adminRole);
+            }
+            userRepository.save(User.builder()
+                    .username("view" + i)
+                    .email("view" + i + "@test.com")
+                    .password("hashedPassword")
+                    .firstName("View")
+                    .lastName("User" + i)
+                    .roles(roles)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findAllViews_ShouldPageSortAndAggregateRoles() {
+        // Act
+        Page<UserView> page = userRepository.findAllViews(PageRequest.of(0, 4, Sort.by("username")));
+
+        // Assert
+        assertThat(page.getTotalElements()).isEqualTo(6);
+        assertThat(page.getContent()).extracting(UserView::username)
+                .containsExactly("view0", "view1", "view2", "view3");
+        assertThat(page.getContent().get(0).toResponse().getRoles()).containsExactly("ROLE_ADMIN");
+        assertThat(page.getContent().get(1).toResponse().getRoles()).containsExactly("ROLE_USER");
+        assertThat(page.getContent().get(2).toResponse().getRoles())
+                .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    void findIdsThenViews_ShouldPageBySpecificationWithoutLoadingEntities() {
+        // Act
+        Slice<UUID> ids = userRepository.findIds(UserSpecifications.isEnabled(true),
+                PageRequest.of(1, 2, Sort.by("username")));
+        List<UserView> views = userRepository.findViewsByIdIn(ids.getContent());
+
+        // Assert
+        assertThat(ids.hasNext()).isTrue();
+        assertThat(views).extracting(UserView::username).containsExactlyInAnyOrder("view2", "view3");
+        assertThat(views).extracting(UserView::id).containsExactlyInAnyOrderElementsOf(ids.getContent());
+        assertThat(views).filteredOn(view -> view.username().equals("view2")).singleElement()
+                .satisfies(view -> assertThat(view.toResponse().getRoles())
+                        .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN"));
+    }
+
+    @Test
+    void findIds_OnTheLastPage_ShouldReportNoNextPage() {
+        // Act
+        Slice<UUID> ids = userRepository.findIds(UserSpecifications.isEnabled(true),
+                PageRequest.of(2, 2, Sort.by("username")));
+
+        // Assert
+        assertThat(ids.getContent()).hasSize(2);
+        assertThat(ids.hasNext()).isFalse();
+    }
+
+    @Test
+    void findPositionsAfter_ShouldWalkEveryMatchOnceInCreationOrder() {
+        // Act
+        List<UserCursor> first = userRepository.findPositionsAfter(UserSpecifications.isEnabled(true), null, 4);
+        List<UserCursor> rest = userRepository.findPositionsAfter(UserSpecifications.isEnabled(true),
+                first.get(first.size() - 1), 4);
+
+        // Assert
+        assertThat(first).hasSize(4);
+        assertThat(rest).hasSize(2);
+        List<UserCursor> all = new ArrayList<>(first);
+        all.addAll(rest);
+        assertThat(all).extracting(UserCursor::id).doesNotHaveDuplicates();
+        assertThat(all).extracting(UserCursor::createdAt).isSorted();
+    }
+}
@@ -0,0 +1,164 @@
+package com.portfolio.usermanagement.unit;
+
+import com.portfolio.usermanagement.dto.request.RegisterRequest;
+import com.portfolio.usermanagement.dto.response.AuthResponse;
+import com.portfolio.usermanagement.entity.RefreshToken;
+import com.portfolio.usermanagement.entity.Role;
+import com.portfolio.usermanagement.entity.User;
+import com.portfolio.usermanagement.exception.ConflictException;
+import com.portfolio.usermanagement.monitoring.MetricsService;
+import com.portfolio.usermanagement.repository.UserRepository;
+import com.portfolio.usermanagement.security.RefreshTokenService;
+import com.portfolio.usermanagement.security.RoleCatalog;
+import com.portfolio.usermanagement.security.jwt.JwtUtils;
+import com.portfolio.usermanagement.service.impl.AuthServiceImpl;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleCatalog roleCatalog;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private HttpServletRequest httpRequest;
+
+    @Mock
+    private AuditorAware<String> auditorProvider;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private AuthServiceImpl authService;
+
+    private RegisterRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = RegisterRequest.builder()
+                .username("newuser")
+                .email("newuser@example.com")
+                .password("Password123!")
+                .firstName("New")
+                .lastName("User")
+                .build();
+
+        Role userRole = new Role(Role.RoleName.ROLE_USER);
+        userRole.setId(2L);
+        lenient().when(roleCatalog.idOf(Role.RoleName.ROLE_USER)).thenReturn(2L);
+        lenient().when(roleCatalog.detached(Role.RoleName.ROLE_USER)).thenReturn(userRole);
+        lenient().when(auditorProvider.getCurrentAuditor()).thenReturn(Optional.empty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void register_ShouldIssueTokensWithoutReauthenticating() {
+        // Arrange
+        when(passwordEncoder.encode("Password123!")).thenReturn("hashedPassword");
+        when(userRepository.insertIfAbsent(any(UUID.class), eq("newuser"), eq("newuser@example.com"),
+                eq("hashedPassword"), eq("New"), eq("User"), eq(2L), any(LocalDateTime.class), eq("system")))
+                .thenAnswer(invocation -> Optional.of(invocation.getArgument(0)));
+        when(jwtUtils.generateJwtToken(any(Authentication.class))).thenReturn("jwt");
+        when(httpRequest.getRemoteAddr()).thenReturn("127.0.0.1");
+        when(refreshTokenService.createRefreshToken(any(User.class), anyString()))
+                .thenReturn(RefreshToken.builder().token("refresh").build());
+
+        // Act
+        AuthResponse response = authService.register(request, httpRequest);
+
+        // Assert
+        assertThat(response.getToken()).isEqualTo("jwt");
+        assertThat(response.getRefreshToken()).isEqualTo("refresh");
+        assertThat(response.getUser().getUsername()).isEqualTo("newuser");
+
+        ArgumentCaptor<Authentication> authCaptor = ArgumentCaptor.forClass(Authentication.class);
+        verify(jwtUtils).generateJwtToken(authCaptor.capture());
+        assertThat(authCaptor.getValue().getName()).isEqualTo("newuser");
+        assertThat(authCaptor.getValue().getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER");
+
+        verifyNoInteractions(authenticationManager);
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+        verify(userRepository, never()).existsByUsernameIncludingDeleted(anyString());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void register_ShouldReportUsernameConflict_WhenInsertIsRejected() {
+        // Arrange
+        when(passwordEncoder.encode("Password123!")).thenReturn("hashedPassword");
+        when(userRepository.insertIfAbsent(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
+        when(userRepository.existsByUsernameIncludingDeleted("newuser")).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> authService.register(request, httpRequest))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Username is already taken");
+        verifyNoInteractions(jwtUtils, refreshTokenService);
+    }
+
+    @Test
+    void register_ShouldReportEmailConflict_WhenUsernameIsFree() {
+        // Arrange
+        when(passwordEncoder.encode("Password123!")).thenReturn("hashedPassword");
+        when(userRepository.insertIfAbsent(any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Optional.empty());
+        when(userRepository.existsByUsernameIncludingDeleted("newuser")).thenReturn(false);
+
+        // Act & Assert
+        assertThatThrownBy(() -> authService.register(request, httpRequest))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Email is already in use");
+    }
+}
@@ -0,0 +1,144 @@
+package com.portfolio.usermanagement.unit;
+
+import com.portfolio.usermanagement.exception.ServiceUnavailableException;
+import com.portfolio.usermanagement.security.BoundedPasswordEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void matches_ShouldNeverRunMoreHashesThanThreads() throws InterruptedException {
+        // Arrange
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        encoder = new BoundedPasswordEncoder(new SlowEncoder(running, peak), 2, 20, Duration.ofSeconds(10));
+
+        // Act
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            callers.add(Thread.ofVirtual().start(() -> assertThat(encoder.matches("secret", "secret")).isTrue()));
+        }
+        for (Thread caller : callers) {
+            caller.join();
+        }
+
+        // Assert
+        assertThat(peak.get()).isEqualTo(2);
+    }
+
+    @Test
+    void encode_ShouldRethrowDelegateFailure() {
+        // Arrange
+        encoder = new BoundedPasswordEncoder(new SlowEncoder(new AtomicInteger(), new AtomicInteger()), 1, 1, Duration.ofSeconds(10));
+
+        // Act & Assert
+        assertThatThrownBy(() -> encoder.encode(null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void encode_WhenQueueIsFull_ShouldFailFastWithServiceUnavailable() throws InterruptedException {
+        // Arrange: one hash running, one waiting in the only queue slot
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(release), 1, 1, Duration.ofSeconds(10));
+        Thread running = Thread.ofVirtual().start(() -> encoder.encode("held"));
+        awaitWaiting(running);
+        Thread queued = Thread.ofVirtual().start(() -> encoder.encode("held"));
+        awaitWaiting(queued);
+
+        // Act & Assert
+        assertThatThrownBy(() -> encoder.encode("rejected"))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessageContaining("Too many");
+        release.countDown();
+        running.join();
+        queued.join();
+    }
+
+    @Test
+    void matches_WhenHashTakesLongerThanTimeout_ShouldFailWithServiceUnavailable() {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(release), 1, 1, Duration.ofMillis(50));
+
+        // Act & Assert
+        assertThatThrownBy(() -> encoder.matches("held", "held"))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasMessageContaining("timed out");
+        release.countDown();
+    }
+
+    /**
+     * Wait until the caller is parked on its hash, i.e. has handed it to the pool.
+     */
+    private static void awaitWaiting(Thread caller) throws InterruptedException {
+        while (caller.getState() != Thread.State.WAITING && caller.getState() != Thread.State.TIMED_WAITING) {
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Encodes "held" only once released; anything else at once.
+     */
+    private record BlockingEncoder(CountDownLatch release) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if ("held".contentEquals(rawPassword)) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+
+    private record SlowEncoder(AtomicInteger running, AtomicInteger peak) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (rawPassword == null) {
+                throw new IllegalArgumentException("rawPassword cannot be null");
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                running.decrementAndGet();
+            }
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.portfolio.usermanagement.unit;
+
+import com.portfolio.usermanagement.dto.request.BulkUserRequest;
+import com.portfolio.usermanagement.dto.request.BulkUserRequest.Operation;
+import com.portfolio.usermanagement.dto.request.UserCursor;
+import com.portfolio.usermanagement.dto.request.UserQueryRequest;
+import com.portfolio.usermanagement.entity.Role;
+import com.portfolio.usermanagement.event.UserChangedEvent;
+import com.portfolio.usermanagement.exception.BadRequestException;
+import com.portfolio.usermanagement.job.JobContext;
+import com.portfolio.usermanagement.job.JobService;
+import com.portfolio.usermanagement.monitoring.MetricsService;
+import com.portfolio.usermanagement.repository.UserRepository;
+import com.portfolio.usermanagement.repository.projection.DeletedUser;
+import com.portfolio.usermanagement.security.RoleCatalog;
+import com.portfolio.usermanagement.service.impl.BulkUserServiceImpl;
+import com.portfolio.usermanagement.service.impl.BulkUserServiceImpl.BulkPayload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkUserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleCatalog roleCatalog;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AuditorAware<String> auditorProvider;
+
+    @Mock
+    private JobService jobService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JobContext context;
+
+    private BulkUserServiceImpl bulkUserService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(userRepository.lockLive(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        bulkUserService = new BulkUserServiceImpl(userRepository, roleCatalog, metricsService, eventPublisher,
+                auditorProvider, jobService, transactionManager, 2);
+    }
+
+    @Test
+    void submit_WithBothIdsAndFilter_ShouldThrowBadRequest() {
+        BulkUserRequest request = BulkUserRequest.builder()
+                .operation(Operation.DISABLE)
+                .ids(Set.of(UUID.randomUUID()))
+                .filter(UserQueryRequest.builder().emailDomain("example.com").build())
+                .build();
+
+        assertThatThrownBy(() -> bulkUserService.submit(request))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(jobService);
+    }
+
+    @Test
+    void submit_RoleOperationWithoutRole_ShouldThrowBadRequest() {
+        BulkUserRequest request = BulkUserRequest.builder()
+                .operation(Operation.ASSIGN_ROLE)
+                .ids(Set.of(UUID.randomUUID()))
+                .build();
+
+        assertThatThrownBy(() -> bulkUserService.submit(request))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(jobService);
+    }
+
+    @Test
+    void submit_ShouldQueueJobWithResolvedRoleAndActor() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(auditorProvider.getCurrentAuditor()).thenReturn(Optional.of("admin"));
+        when(roleCatalog.idOf(Role.RoleName.ROLE_MODERATOR)).thenReturn(3L);
+        BulkUserRequest request = BulkUserRequest.builder()
+                .operation(Operation.ASSIGN_ROLE)
+                .role("moderator")
+                .ids(Set.of(id))
+                .build();
+
+        // Act
+        bulkUserService.submit(request);
+
+        // Assert
+        verify(jobService).submit(BulkUserServiceImpl.JOB_TYPE,
+                new BulkPayload(Operation.ASSIGN_ROLE, List.of(id), null, 3L, "admin"));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void run_DisableByIds_ShouldUpdateAndCheckpointEachChunkOnce() {
+        // Arrange
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        when(context.payload(BulkPayload.class)).thenReturn(new BulkPayload(Operation.DISABLE, ids, null, null, "admin"));
+        when(userRepository.setEnabled(anyList(), eq(false), eq(true), any(LocalDateTime.class), eq("admin")))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // Act
+        bulkUserService.run(context);
+
+        // Assert
+        verify(userRepository).setEnabled(eq(ids.subList(0, 2)), eq(false), eq(true), any(LocalDateTime.class), eq("admin"));
+        verify(userRepository).setEnabled(eq(ids.subList(2, 3)), eq(false), eq(true), any(LocalDateTime.class), eq("admin"));
+        verify(context).checkpoint("2", 2, 2);
+        verify(context).checkpoint("3", 1, 1);
+        verify(userRepository, never()).findById(any());
+        verify(metricsService, times(2)).recordBulkChunk(eq("DISABLE"), anyInt(), anyInt(), anyLong(), anyLong());
+    }
+
+    @Test
+    void run_WhenResumed_ShouldContinueAfterLastCheckpoint() {
+        // Arrange
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        when(context.payload(BulkPayload.class)).thenReturn(new BulkPayload(Operation.ENABLE, ids, null, null, "admin"));
+        when(context.cursor()).thenReturn("2");
+        when(userRepository.setEnabled(anyList(), eq(true), eq(false), any(LocalDateTime.class), eq("admin"))).thenReturn(0);
+
+        // Act
+        bulkUserService.run(context);
+
+        // Assert
+        verify(userRepository, times(1)).lockLive(ids.subList(2, 3));
+        verify(context).checkpoint("3", 1, 0);
+    }
+
+    @Test
+    void run_DisableByFilter_ShouldWalkCreationOrderAndCheckpointThePosition() {
+        // Arrange
+        UserQueryRequest filter = UserQueryRequest.builder().emailDomain("example.com").build();
+        LocalDateTime created = LocalDateTime.of(2024, 5, 1, 12, 0);
+        UserCursor first = new UserCursor(created, UUID.randomUUID());
+        UserCursor second = new UserCursor(created.plusSeconds(1), UUID.randomUUID());
+        UserCursor third = new UserCursor(created.plusSeconds(2), UUID.randomUUID());
+        when(context.payload(BulkPayload.class)).thenReturn(new BulkPayload(Operation.DISABLE, null, filter, null, "admin"));
+        when(userRepository.findPositionsAfter(any(), isNull(), eq(2))).thenReturn(List.of(first, second));
+        when(userRepository.findPositionsAfter(any(), eq(second), eq(2))).thenReturn(List.of(third));
+        when(userRepository.setEnabled(anyList(), eq(false), eq(true), any(LocalDateTime.class), eq("admin")))
+                .thenAnswer(invocation -> ((List<?>) invocation.getArgument(0)).size());
+
+        // Act
+        bulkUserService.run(context);
+
+        // Assert
+        verify(userRepository).lockLive(List.of(first.id(), second.id()));
+        verify(userRepository).lockLive(List.of(third.id()));
+        verify(context).checkpoint(second.encode(), 2, 2);
+        verify(context).checkpoint(third.encode(), 1, 1);
+    }
+
+    @Test
+    void run_ByFilterWhenResumed_ShouldContinueAfterTheCheckpointedPosition() {
+        // Arrange
+        UserQueryRequest filter = UserQueryRequest.builder().emailDomain("example.com").build();
+        UserCursor checkpointed = new UserCursor(LocalDateTime.of(2024, 5, 1, 12, 0), UUID.randomUUID());
+        when(context.payload(BulkPayload.class)).thenReturn(new BulkPayload(Operation.ENABLE, null, filter, null, "admin"));
+        when(context.cursor()).thenReturn(checkpointed.encode());
+        when(userRepository.findPositionsAfter(any(), eq(checkpointed), eq(2))).thenReturn(List.of());
+
+        // Act
+        bulkUserService.run(context);
+
+        // Assert
+        verify(userRepository, never()).findPositionsAfter(any(), isNull(), anyInt());
+        verify(userRepository, never()).lockLive(anyList());
+    }
+
+    @Test
+    void run_RemoveRole_ShouldEndSessionsOfUsersThatLostIt() {
+        // Arrange
+        UUID holder = UUID.randomUUID();
+        List<UUID> ids = List.of(holder, UUID.randomUUID());
+        when(context.payload(BulkPayload.class)).thenReturn(new BulkPayload(Operation.REMOVE_ROLE, ids, null, 3L, "admin"));
+        when(userRepository.removeRole(ids, 3L)).thenReturn(List.of(holder));
+
+        // Act
+        bulkUserService.run(context);
+
+        // Assert
+        verify(userRepository).endSessions(List.of(holder));
+        verify(context).checkpoint("2", 2, 1);
+    }
+
+    @Test
+    void run_Delete_ShouldPublishDeletedEvents() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        when(context.payload(BulkPayload.class)).thenReturn(new BulkPayload(Operation.DELETE, List.of(id), null, null, "admin"));
+        when(userRepository.markAllDeleted(anyList(), any(LocalDateTime.class), eq("admin")))
+                .thenReturn(List.of(new DeletedUser(id, "gone", "gone@example.com")));
+
+        // Act
+        bulkUserService.run(context);
+
+        // Assert
+        verify(eventPublisher).publishEvent(UserChangedEvent.deleted(id, "gone", "gone@example.com"));
+        verify(userRepository, never()).setEnabled(anyList(), anyBoolean(), anyBoolean(), any(), any());
+    }
+
+    @Test
+    void run_WhenStopping_ShouldReturnWithoutProcessing() {
+        // Arrange
+        when(context.payload(BulkPayload.class))
+                .thenReturn(new BulkPayload(Operation.DISABLE, List.of(UUID.randomUUID()), null, null, "admin"));
+        when(context.shouldStop()).thenReturn(true);
+
+        // Act
+        bulkUserService.run(context);
+
+        // Assert
+        verifyNoInteractions(userRepository);
+        verify(context, never()).checkpoint(any(), anyLong(), anyLong());
+    }
+}
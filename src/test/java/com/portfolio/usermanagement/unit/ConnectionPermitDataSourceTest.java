@@ -0,0 +1,78 @@
+package com.portfolio.usermanagement.unit;
+
+import com.portfolio.usermanagement.config.ConnectionPermitDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionPermitDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private ConnectionPermitDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(target.getConnection()).thenReturn(connection);
+        dataSource = new ConnectionPermitDataSource(target, 1, Duration.ofMillis(50));
+    }
+
+    @Test
+    void getConnection_WhenAllPermitsTaken_ShouldTimeOut() throws SQLException {
+        // Arrange
+        dataSource.getConnection();
+
+        // Act & Assert
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+        verify(target, times(1)).getConnection();
+    }
+
+    @Test
+    void close_ShouldReleasePermitOnlyOnce() throws SQLException {
+        // Arrange
+        Connection first = dataSource.getConnection();
+
+        // Act
+        first.close();
+        first.close();
+        Connection second = dataSource.getConnection();
+
+        // Assert
+        verify(connection, times(2)).close();
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+        second.close();
+    }
+
+    @Test
+    void getConnection_WhenPoolFails_ShouldReleasePermit() throws SQLException {
+        // Arrange
+        when(target.getConnection()).thenThrow(new SQLException("down")).thenReturn(connection);
+
+        // Act
+        assertThatThrownBy(() -> dataSource.getConnection()).hasMessage("down");
+        Connection acquired = dataSource.getConnection();
+
+        // Assert
+        assertThat(acquired).isNotNull();
+        assertThat(dataSource.getWaiting()).isZero();
+    }
+}
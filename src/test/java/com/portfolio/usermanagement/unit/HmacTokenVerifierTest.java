@@ -0,0 +1,234 @@
+package com.portfolio.usermanagement.unit;
+
+import com.portfolio.usermanagement.security.UserPrincipal;
+import com.portfolio.usermanagement.security.jwt.HmacTokenVerifier;
+import com.portfolio.usermanagement.security.jwt.JwtUtils;
+import com.portfolio.usermanagement.security.jwt.SigningKeys;
+import com.portfolio.usermanagement.security.jwt.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HmacTokenVerifierTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs512-signing-0123456789abcdef";
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    private static final SecretKey OTHER_KEY = Keys.hmacShaKeyFor(SECRET.toUpperCase().getBytes(StandardCharsets.UTF_8));
+    private static final String ALPHABET = "ab.-_\"\\/é中\u0001 ";
+
+    private final HmacTokenVerifier verifier = new HmacTokenVerifier(KEY);
+    private final JwtParser parser = Jwts.parser().verifyWith(KEY).build();
+
+    @Test
+    void verify_IssuedTokens_ShouldReadTheClaimsTheParserReads() {
+        JwtUtils jwtUtils = jwtUtils();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 500; i++) {
+            String username = "u" + randomString(random);
+            String token = jwtUtils.generateJwtToken(authentication(username, random.nextInt(1000)));
+
+            VerifiedToken fast = verifier.verify(token, System.currentTimeMillis());
+
+            assertThat(fast).isEqualTo(parsed(token));
+            assertThat(fast.subject()).isEqualTo(username);
+        }
+    }
+
+    @Test
+    void verify_RandomTokensAndMutations_ShouldAcceptExactlyWhatTheParserAcceptsWithTheSameClaims() {
+        Random random = new Random(7);
+        int accepted = 0;
+
+        for (int i = 0; i < 2000; i++) {
+            String token = mutate(randomToken(random), random);
+            long now = System.currentTimeMillis();
+
+            VerifiedToken fast = verifier.verify(token, now);
+            VerifiedToken expected = parsed(token);
+
+            if (fast != null) {
+                accepted++;
+                assertThat(fast).as(token).isEqualTo(expected);
+            }
+            if (expected == null) {
+                assertThat(fast).as(token).isNull();
+            }
+        }
+
+        assertThat(accepted).isGreaterThan(200);
+    }
+
+    @Test
+    void verify_InvalidCharacterAnywhereInTheSignature_ShouldNotAccept() {
+        JwtUtils jwtUtils = jwtUtils();
+
+        // Many tokens, so that every position also replaces an 'A', which decodes to zero bits
+        for (int i = 0; i < 100; i++) {
+            String token = jwtUtils.generateJwtToken(authentication("user" + i, 1));
+            int signature = token.lastIndexOf('.') + 1;
+            for (int at = signature; at < token.length(); at++) {
+                for (char invalid : "*/! =+".toCharArray()) {
+                    String mutated = token.substring(0, at) + invalid + token.substring(at + 1);
+
+                    assertThat(verifier.verify(mutated, System.currentTimeMillis())).as(mutated).isNull();
+                }
+            }
+        }
+    }
+
+    @Test
+    void verify_NonZeroTrailingBitsInTheSignature_ShouldNotAccept() {
+        String token = jwtUtils().generateJwtToken(authentication("alice", 1));
+        char last = token.charAt(token.length() - 1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        // HS512 signatures end in a 2-character group, whose last character carries 4 unused bits
+        int used = alphabet.indexOf(last) & 0x30;
+
+        for (int unused = 1; unused < 16; unused++) {
+            String mutated = token.substring(0, token.length() - 1) + alphabet.charAt(used | unused);
+
+            assertThat(verifier.verify(mutated, System.currentTimeMillis())).as(mutated).isNull();
+        }
+    }
+
+    @Test
+    void verify_WithFastVerifyEnabled_ShouldKeepTheParserBehaviour() {
+        JwtUtils jwtUtils = jwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "fastVerify", true);
+        jwtUtils.validateSecret();
+        String token = jwtUtils.generateJwtToken(authentication("alice", 4));
+        String expired = Jwts.builder().subject("alice").claim("exp", System.currentTimeMillis() / 1000 - 5)
+                .signWith(KEY).compact();
+
+        assertThat(jwtUtils.verify(token)).isEqualTo(parsed(token));
+        assertThatThrownBy(() -> jwtUtils.verify(expired)).isInstanceOf(ExpiredJwtException.class);
+        assertThatThrownBy(() -> jwtUtils.verify(token.substring(0, token.length() - 2)))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    /**
+     * A token with random claims, mostly ours but also other keys, algorithms, types and times.
+     */
+    private static String randomToken(Random random) {
+        long nowSeconds = System.currentTimeMillis() / 1000;
+        JwtBuilder builder = Jwts.builder();
+        if (random.nextInt(10) > 0) {
+            builder.subject(randomString(random));
+        }
+        if (random.nextInt(10) > 0) {
+            builder.claim("jti", UUID.randomUUID().toString());
+        }
+        if (random.nextInt(10) > 0) {
+            builder.claim("type", random.nextBoolean() ? "access" : randomString(random));
+        }
+        switch (random.nextInt(8)) {
+            case 0 -> { }
+            case 1 -> builder.claim("sep", random.nextLong());
+            case 2 -> builder.claim("sep", "1");
+            default -> builder.claim("sep", random.nextInt(Integer.MAX_VALUE));
+        }
+        if (random.nextInt(10) > 0) {
+            builder.issuedAt(new Date((nowSeconds - random.nextInt(3600)) * 1000));
+        }
+        switch (random.nextInt(10)) {
+            case 0 -> { }
+            case 1 -> builder.expiration(new Date((nowSeconds - 1 - random.nextInt(3600)) * 1000));
+            case 2 -> builder.claim("exp", (double) nowSeconds + 3600.5);
+            default -> builder.expiration(new Date((nowSeconds + 60 + random.nextInt(3600)) * 1000));
+        }
+        if (random.nextInt(10) == 0) {
+            builder.notBefore(new Date((nowSeconds - 60) * 1000));
+        }
+        if (random.nextInt(4) == 0) {
+            builder.claim("extra", List.of(randomString(random), random.nextInt()));
+        }
+        builder.issuer("user-management-system").audience().add("api").and();
+        return switch (random.nextInt(12)) {
+            case 0 -> builder.signWith(OTHER_KEY).compact();
+            case 1 -> builder.signWith(KEY, Jwts.SIG.HS256).compact();
+            case 2 -> builder.header().keyId("k1").and().signWith(KEY).compact();
+            default -> builder.signWith(KEY).compact();
+        };
+    }
+
+    /**
+     * The token unchanged, or with a character replaced, inserted or removed.
+     */
+    private static String mutate(String token, Random random) {
+        int at = random.nextInt(token.length());
+        String replacement = String.valueOf("Aa0-_.=+/ é".charAt(random.nextInt(11)));
+        return switch (random.nextInt(8)) {
+            case 0 -> token.substring(0, at) + replacement + token.substring(at + 1);
+            case 1 -> token.substring(0, at) + replacement + token.substring(at);
+            case 2 -> token.substring(0, at) + token.substring(at + 1);
+            default -> token;
+        };
+    }
+
+    /**
+     * What JwtUtils reads from the token with the regular parser, or null if it rejects it.
+     */
+    private VerifiedToken parsed(String token) {
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() == null) {
+                return null;
+            }
+            Integer sessionEpoch = claims.get("sep", Integer.class);
+            return new VerifiedToken(claims.get("jti", String.class), claims.getSubject(),
+                    claims.get("type", String.class), sessionEpoch != null ? sessionEpoch : 0,
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                    claims.getExpiration().toInstant());
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String randomString(Random random) {
+        StringBuilder value = new StringBuilder();
+        for (int i = random.nextInt(12) + 1; i > 0; i--) {
+            value.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return value.toString();
+    }
+
+    private static JwtUtils jwtUtils() {
+        SigningKeys keys = new SigningKeys();
+        ReflectionTestUtils.setField(keys, "jwksFile", "");
+        ReflectionTestUtils.setField(keys, "activeKid", "");
+        keys.load();
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60000L);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheSize", 100);
+        ReflectionTestUtils.setField(jwtUtils, "signingKeys", keys);
+        jwtUtils.validateSecret();
+        return jwtUtils;
+    }
+
+    private static UsernamePasswordAuthenticationToken authentication(String username, int sessionEpoch) {
+        UserPrincipal principal = new UserPrincipal(UUID.randomUUID(), username, "hashed", true, true, true, true,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), sessionEpoch);
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+}
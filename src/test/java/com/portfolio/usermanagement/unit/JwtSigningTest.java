@@ -0,0 +1,163 @@
+package com.portfolio.usermanagement.unit;
+
+import com.portfolio.usermanagement.security.UserPrincipal;
+import com.portfolio.usermanagement.security.jwt.JwtUtils;
+import com.portfolio.usermanagement.security.jwt.SigningKeys;
+import com.portfolio.usermanagement.security.jwt.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtSigningTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs512-signing-0123456789abcdef";
+
+    @TempDir
+    Path tempDir;
+
+    private Path jwksFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String ec = Jwks.UNSAFE_JSON(Jwks.builder().keyPair(Jwts.SIG.ES256.keyPair().build()).id("ec-1").build());
+        String ed = Jwks.UNSAFE_JSON(Jwks.builder().keyPair(Jwks.CRV.Ed25519.keyPair().build()).id("ed-1").build());
+        jwksFile = tempDir.resolve("jwks.json");
+        Files.writeString(jwksFile, "{\"keys\":[" + ec + "," + ed + "]}", StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void generate_WithoutKeys_ShouldSignWithSecretAndPublishNothing() {
+        SigningKeys keys = signingKeys("", "");
+        JwtUtils jwtUtils = jwtUtils(keys);
+
+        String token = jwtUtils.generateJwtToken(authentication());
+
+        assertThat(header(token)).contains("\"alg\":\"HS").doesNotContain("kid");
+        assertThat(jwtUtils.verify(token).subject()).isEqualTo("alice");
+        assertThat(keys.jwksJson()).isEqualTo("{\"keys\":[]}");
+    }
+
+    @Test
+    void generate_WithSecret_ShouldWriteWhatTheBuilderWould() {
+        JwtUtils jwtUtils = jwtUtils(signingKeys("", ""));
+        String username = "quote\"back\\slash\u00e9\u0001";
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+        String token = jwtUtils.generateJwtToken(authentication(username));
+        Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+
+        assertThat(header(token)).isEqualTo(header(Jwts.builder().subject(username).signWith(key).compact()));
+        assertThat(claims.getSubject()).isEqualTo(username);
+        assertThat(claims.get("type", String.class)).isEqualTo("access");
+        assertThat(claims.getIssuer()).isEqualTo("user-management-system");
+        assertThat(claims.getAudience()).containsExactly("api");
+        assertThat(claims.get("sep", Integer.class)).isEqualTo(3);
+        assertThat(claims.getExpiration().getTime() - claims.getIssuedAt().getTime()).isBetween(59000L, 61000L);
+        assertThat(UUID.fromString(claims.get("jti", String.class)).version()).isEqualTo(7);
+    }
+
+    @Test
+    void generate_ShouldNeverRepeatTokenIds() {
+        JwtUtils jwtUtils = jwtUtils(signingKeys("", ""));
+        Set<String> ids = new HashSet<>();
+
+        for (int i = 0; i < 10000; i++) {
+            ids.add(jwtUtils.verify(jwtUtils.generateJwtToken(authentication())).jti());
+        }
+
+        assertThat(ids).hasSize(10000);
+    }
+
+    @Test
+    void generate_WithActiveKey_ShouldSignWithItAndPublishOnlyPublicParts() {
+        SigningKeys keys = signingKeys(jwksFile.toString(), "ed-1");
+        JwtUtils jwtUtils = jwtUtils(keys);
+
+        String token = jwtUtils.generateJwtToken(authentication());
+
+        assertThat(header(token)).contains("\"alg\":\"EdDSA\"").contains("\"kid\":\"ed-1\"");
+        VerifiedToken verified = jwtUtils.verify(token);
+        assertThat(verified.subject()).isEqualTo("alice");
+        assertThat(verified.sessionEpoch()).isEqualTo(3);
+        assertThat(keys.jwksJson()).contains("\"kid\":\"ec-1\"").contains("\"kid\":\"ed-1\"").doesNotContain("\"d\"");
+    }
+
+    @Test
+    void verify_AfterRotation_ShouldAcceptTokensOfEveryPublishedKeyAndOfTheSecret() {
+        String ecToken = jwtUtils(signingKeys(jwksFile.toString(), "ec-1")).generateJwtToken(authentication());
+        String hsToken = jwtUtils(signingKeys("", "")).generateJwtToken(authentication());
+
+        JwtUtils rotated = jwtUtils(signingKeys(jwksFile.toString(), "ed-1"));
+
+        assertThat(header(ecToken)).contains("\"alg\":\"ES256\"");
+        assertThat(rotated.verify(ecToken).subject()).isEqualTo("alice");
+        assertThat(rotated.verify(hsToken).subject()).isEqualTo("alice");
+    }
+
+    @Test
+    void verify_WithUnknownKid_ShouldReject() throws IOException {
+        String other = Jwks.UNSAFE_JSON(Jwks.builder().keyPair(Jwts.SIG.ES256.keyPair().build()).id("ec-9").build());
+        Path otherFile = tempDir.resolve("other.json");
+        Files.writeString(otherFile, "{\"keys\":[" + other + "]}", StandardCharsets.UTF_8);
+        String token = jwtUtils(signingKeys(otherFile.toString(), "")).generateJwtToken(authentication());
+
+        JwtUtils jwtUtils = jwtUtils(signingKeys(jwksFile.toString(), ""));
+
+        assertThatThrownBy(() -> jwtUtils.verify(token)).isInstanceOf(JwtException.class);
+    }
+
+    private static SigningKeys signingKeys(String file, String activeKid) {
+        SigningKeys keys = new SigningKeys();
+        ReflectionTestUtils.setField(keys, "jwksFile", file);
+        ReflectionTestUtils.setField(keys, "activeKid", activeKid);
+        keys.load();
+        return keys;
+    }
+
+    private static JwtUtils jwtUtils(SigningKeys keys) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60000L);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheSize", 100);
+        ReflectionTestUtils.setField(jwtUtils, "signingKeys", keys);
+        jwtUtils.validateSecret();
+        return jwtUtils;
+    }
+
+    private static Authentication authentication() {
+        return authentication("alice");
+    }
+
+    private static Authentication authentication(String username) {
+        UserPrincipal principal = new UserPrincipal(UUID.randomUUID(), username, "hashed", true, true, true, true,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), 3);
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    private static String header(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+    }
+}
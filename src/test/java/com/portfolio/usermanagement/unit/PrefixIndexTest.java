@@ -0,0 +1,99 @@
+package com.portfolio.usermanagement.unit;
+
+import com.portfolio.usermanagement.search.PrefixIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixIndexTest {
+
+    @Test
+    void search_ShouldMergeLoadedKeysWithLaterChanges() {
+        PrefixIndex index = new PrefixIndex();
+        index.load(List.of("alice", "Alice@example.com", "bob", "alicia"));
+
+        index.add("alina");
+        index.remove("alicia");
+
+        assertThat(index.search("ALI", 10)).containsExactly("alice", "alice@example.com", "alina");
+        assertThat(index.search("ali", 2)).containsExactly("alice", "alice@example.com");
+        assertThat(index.search("carol", 10)).isEmpty();
+    }
+
+    @Test
+    void load_ShouldKeepChangesMadeWhileScanning() {
+        PrefixIndex index = new PrefixIndex();
+        PrefixIndex.Builder keys = index.builder();
+        keys.add("gone");
+        index.add("new-user");
+        index.remove("gone");
+        keys.add("old-user");
+
+        index.load(keys);
+
+        assertThat(index.search("", 10)).containsExactly("new-user", "old-user");
+    }
+
+    @Test
+    void load_ShouldDropChangesMadeBeforeTheScanStarted() {
+        PrefixIndex index = new PrefixIndex();
+        index.load(List.of("kept", "renamed-away"));
+        index.add("stale-email");
+        index.remove("renamed-away");
+        index.add("current");
+
+        PrefixIndex.Builder keys = index.builder();
+        keys.add("kept");
+        keys.add("renamed-away");
+        keys.add("current");
+        index.load(keys);
+
+        assertThat(index.search("", 10)).containsExactly("current", "kept", "renamed-away");
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void add_WhileALoadIsPending_ShouldNotCompactAwayChangesTheLoadMustKeep() {
+        PrefixIndex index = new PrefixIndex();
+        index.load(List.of("user-0000"));
+
+        PrefixIndex.Builder keys = index.builder();
+        keys.add("user-0000");
+        IntStream.range(1, 3000).forEach(i -> index.add(String.format("user-%04d", i)));
+        index.load(keys);
+
+        assertThat(index.size()).isEqualTo(3000);
+        assertThat(index.search("user-2999", 1)).containsExactly("user-2999");
+    }
+
+    @Test
+    void add_ShouldCompactDeltaWithoutLosingKeys() {
+        PrefixIndex index = new PrefixIndex();
+        index.load(List.of("user-0000"));
+
+        IntStream.range(1, 3000).forEach(i -> index.add(String.format("user-%04d", i)));
+        index.remove("user-0000");
+        index.add("user-0000");
+
+        assertThat(index.size()).isEqualTo(3000);
+        assertThat(index.search("user-29", 200)).hasSize(100).first().isEqualTo("user-2900");
+    }
+
+    @Test
+    void load_FromBuilder_ShouldSortNormalizeAndDropDuplicates() {
+        PrefixIndex index = new PrefixIndex();
+        PrefixIndex.Builder keys = index.builder();
+        IntStream.range(0, 2000).forEach(i -> keys.add(String.format("User-%04d", 1999 - i)));
+        keys.add("user-0001");
+        keys.add("Émile");
+
+        index.load(keys);
+
+        assertThat(index.size()).isEqualTo(2001);
+        assertThat(index.search("USER-000", 3)).containsExactly("user-0000", "user-0001", "user-0002");
+        assertThat(index.search("é", 10)).containsExactly("émile");
+    }
+}
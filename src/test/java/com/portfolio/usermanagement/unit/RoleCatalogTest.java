@@ -0,0 +1,83 @@
+package com.portfolio.usermanagement.unit;
+
+import com.portfolio.usermanagement.domain.model.UserDomain;
+import com.portfolio.usermanagement.entity.Role;
+import com.portfolio.usermanagement.event.RolesChangedEvent;
+import com.portfolio.usermanagement.repository.RoleRepository;
+import com.portfolio.usermanagement.security.RoleCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoleCatalogTest {
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    private RoleCatalog roleCatalog;
+
+    @BeforeEach
+    void setUp() {
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, Role.RoleName.ROLE_USER), role(2L, Role.RoleName.ROLE_ADMIN)));
+        roleCatalog = new RoleCatalog(roleRepository);
+        roleCatalog.refresh();
+    }
+
+    @Test
+    void lookups_ShouldBeServedFromSnapshot() {
+        // Act
+        Long adminId = roleCatalog.idOf(Role.RoleName.ROLE_ADMIN);
+        Role user = roleCatalog.detached(Role.RoleName.ROLE_USER);
+
+        // Assert
+        assertThat(adminId).isEqualTo(2L);
+        assertThat(user.getId()).isEqualTo(1L);
+        assertThat(user.getName()).isEqualTo(Role.RoleName.ROLE_USER);
+        assertThatThrownBy(() -> roleCatalog.idOf(Role.RoleName.ROLE_MODERATOR))
+                .isInstanceOf(IllegalStateException.class);
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    void onRolesChanged_ShouldReloadOnNextLookup() {
+        // Arrange
+        when(roleRepository.findAll()).thenReturn(List.of(role(1L, Role.RoleName.ROLE_USER),
+                role(2L, Role.RoleName.ROLE_ADMIN), role(3L, Role.RoleName.ROLE_MODERATOR)));
+
+        // Act
+        roleCatalog.onRolesChanged(new RolesChangedEvent(Role.RoleName.ROLE_MODERATOR));
+
+        // Assert
+        assertThat(roleCatalog.idOf(Role.RoleName.ROLE_MODERATOR)).isEqualTo(3L);
+        assertThat(roleCatalog.idOf(Role.RoleName.ROLE_USER)).isEqualTo(1L);
+        verify(roleRepository, times(2)).findAll();
+    }
+
+    @Test
+    void userDomainRoleMask_ShouldMatchRoleNames() {
+        UserDomain admin = UserDomain.builder().roleNames(Set.of("ROLE_USER", "ROLE_ADMIN", "ROLE_UNKNOWN")).build();
+        UserDomain user = UserDomain.builder().roleNames(Set.of("ROLE_USER")).build();
+
+        assertThat(admin.isAdmin()).isTrue();
+        assertThat(admin.hasRole("ROLE_UNKNOWN")).isFalse();
+        assertThat(user.isRegularUser()).isTrue();
+        assertThat(user.hasRole("ROLE_MODERATOR")).isFalse();
+        assertThat(UserDomain.builder().build().getRoleMask()).isZero();
+    }
+
+    private static Role role(Long id, Role.RoleName name) {
+        Role role = new Role(name);
+        role.setId(id);
+        return role;
+    }
+}
@@ -0,0 +1,116 @@
+package com.portfolio.usermanagement.unit;
+
+import com.portfolio.usermanagement.dto.response.TokenIntrospection;
+import com.portfolio.usermanagement.entity.Role;
+import com.portfolio.usermanagement.exception.BadRequestException;
+import com.portfolio.usermanagement.repository.UserRepository;
+import com.portfolio.usermanagement.repository.projection.UserCredentials;
+import com.portfolio.usermanagement.security.TokenIntrospectionService;
+import com.portfolio.usermanagement.security.jwt.JwtUtils;
+import com.portfolio.usermanagement.security.jwt.TokenBlacklistService;
+import com.portfolio.usermanagement.security.jwt.VerifiedToken;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenIntrospectionServiceTest {
+
+    private static final Instant ISSUED = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Instant EXPIRES = ISSUED.plusSeconds(3600);
+
+    @Mock
+    private JwtUtils jwtUtils;
+
+    @Mock
+    private TokenBlacklistService tokenBlacklistService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenIntrospectionService introspectionService;
+
+    @BeforeEach
+    void setUp() {
+        introspectionService = new TokenIntrospectionService(jwtUtils, tokenBlacklistService, userRepository, "gateway-key", 3);
+    }
+
+    @Test
+    void introspect_ShouldAnswerEachTokenInOrderWithOneUserQuery() {
+        // Arrange
+        when(jwtUtils.verify("good")).thenReturn(token("jti-1", "alice", 2));
+        when(jwtUtils.verify("stale")).thenReturn(token("jti-2", "alice", 1));
+        when(jwtUtils.verify("forged")).thenThrow(new MalformedJwtException("bad"));
+        when(userRepository.findCredentialsByUsernameIn(Set.of("alice")))
+                .thenReturn(List.of(credentials("alice", true, 2)));
+
+        // Act
+        List<TokenIntrospection> results = introspectionService.introspect(List.of("good", "forged", "stale")).getResults();
+
+        // Assert
+        assertThat(results).extracting(TokenIntrospection::isActive).containsExactly(true, false, false);
+        TokenIntrospection active = results.get(0);
+        assertThat(active.getSub()).isEqualTo("alice");
+        assertThat(active.getRoles()).containsExactly("ROLE_USER", "ROLE_ADMIN");
+        assertThat(active.getExp()).isEqualTo(EXPIRES.getEpochSecond());
+        assertThat(results.get(1).getSub()).isNull();
+        verify(userRepository, times(1)).findCredentialsByUsernameIn(any());
+    }
+
+    @Test
+    void introspect_BlacklistedOrDisabled_ShouldBeInactive() {
+        // Arrange
+        when(jwtUtils.verify("logged-out")).thenReturn(token("jti-1", "alice", 0));
+        when(jwtUtils.verify("disabled")).thenReturn(token("jti-2", "bob", 0));
+        when(tokenBlacklistService.isBlacklisted("jti-1")).thenReturn(true);
+        when(userRepository.findCredentialsByUsernameIn(Set.of("bob")))
+                .thenReturn(List.of(credentials("bob", false, 0)));
+
+        // Act
+        List<TokenIntrospection> results = introspectionService.introspect(Arrays.asList("logged-out", "disabled", null))
+                .getResults();
+
+        // Assert
+        assertThat(results).extracting(TokenIntrospection::isActive).containsExactly(false, false, false);
+    }
+
+    @Test
+    void introspect_TooManyTokens_ShouldThrowBadRequest() {
+        assertThatThrownBy(() -> introspectionService.introspect(List.of("a", "b", "c", "d")))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(jwtUtils, userRepository);
+    }
+
+    @Test
+    void isTrustedCaller_ShouldRequireConfiguredKey() {
+        TokenIntrospectionService unconfigured = new TokenIntrospectionService(jwtUtils, tokenBlacklistService, userRepository, "", 3);
+
+        assertThat(introspectionService.isTrustedCaller("gateway-key")).isTrue();
+        assertThat(introspectionService.isTrustedCaller("other")).isFalse();
+        assertThat(introspectionService.isTrustedCaller(null)).isFalse();
+        assertThat(unconfigured.isTrustedCaller("")).isFalse();
+    }
+
+    private static VerifiedToken token(String jti, String username, int sessionEpoch) {
+        return new VerifiedToken(jti, username, "access", sessionEpoch, ISSUED, EXPIRES);
+    }
+
+    private static UserCredentials credentials(String username, boolean enabled, int sessionEpoch) {
+        int roleMask = Role.RoleName.ROLE_USER.bit() | Role.RoleName.ROLE_ADMIN.bit();
+        return new UserCredentials(UUID.randomUUID(), username, "hash", enabled, true, true, true, roleMask, sessionEpoch);
+    }
+}
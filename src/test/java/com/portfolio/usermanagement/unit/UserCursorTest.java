@@ -0,0 +1,37 @@
+package com.portfolio.usermanagement.unit;
+
+import com.portfolio.usermanagement.dto.request.UserCursor;
+import com.portfolio.usermanagement.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserCursorTest {
+
+    @Test
+    void decode_ShouldRoundTripEncodedCursor() {
+        UserCursor cursor = new UserCursor(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123456000), UUID.randomUUID());
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).doesNotContain("=", "+", "/");
+        assertThat(UserCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_WhenBlank_ShouldStartFromFirstPage() {
+        assertThat(UserCursor.decode("")).isEqualTo(UserCursor.START);
+        assertThat(UserCursor.decode(null)).isEqualTo(UserCursor.START);
+    }
+
+    @Test
+    void decode_WhenTampered_ShouldThrowBadRequestException() {
+        assertThatThrownBy(() -> UserCursor.decode("not-a-cursor"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Invalid cursor");
+    }
+}
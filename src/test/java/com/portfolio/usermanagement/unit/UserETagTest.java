@@ -0,0 +1,33 @@
+package com.portfolio.usermanagement.unit;
+
+import com.portfolio.usermanagement.dto.request.UserETag;
+import com.portfolio.usermanagement.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserETagTest {
+
+    private final UserETag tag = new UserETag(7L, 3);
+
+    @Test
+    void fromIfMatch_ShouldAcceptOnlyStrongTagsIssuedByTheApi() {
+        assertThat(UserETag.fromIfMatch(tag.toHeader())).contains(tag);
+        assertThat(UserETag.fromIfMatch(null)).isEmpty();
+        assertThat(UserETag.fromIfMatch("*")).isEmpty();
+        assertThatThrownBy(() -> UserETag.fromIfMatch(tag.toWeakHeader()))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThatThrownBy(() -> UserETag.fromIfMatch("\"abc\""))
+                .isInstanceOf(PreconditionFailedException.class);
+    }
+
+    @Test
+    void matchesIfNoneMatch_ShouldUseWeakComparison() {
+        assertThat(tag.matchesIfNoneMatch("W/\"7-3\"")).isTrue();
+        assertThat(tag.matchesIfNoneMatch("\"1-1\", \"7-3\"")).isTrue();
+        assertThat(tag.matchesIfNoneMatch("*")).isTrue();
+        assertThat(tag.matchesIfNoneMatch("W/\"8-3\"")).isFalse();
+        assertThat(tag.matchesIfNoneMatch(null)).isFalse();
+    }
+}
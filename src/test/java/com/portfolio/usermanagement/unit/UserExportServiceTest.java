@@ -0,0 +1,147 @@
+package com.portfolio.usermanagement.unit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.usermanagement.repository.UserRepository;
+import com.portfolio.usermanagement.repository.projection.UserView;
+import com.portfolio.usermanagement.service.impl.UserDataFormat;
+import com.portfolio.usermanagement.service.impl.UserExportServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserExportServiceTest {
+
+    private static final int CHUNK_SIZE = 2;
+    private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 2, 3, 4, 5);
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private UserExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new UserExportServiceImpl(userRepository, objectMapper, CHUNK_SIZE);
+    }
+
+    @Test
+    void exportUsers_AsNdjson_ShouldWriteOneObjectPerLine() throws IOException {
+        // Arrange
+        UserView alice = view("alice", "Alice", "ROLE_ADMIN,ROLE_USER");
+        UserView bob = view("bob", "Bob", null);
+        when(userRepository.findViewsInCreationOrder(isNull(), eq(CHUNK_SIZE))).thenReturn(List.of(alice, bob));
+        when(userRepository.findViewsInCreationOrder(bob, CHUNK_SIZE)).thenReturn(List.of());
+
+        // Act
+        String[] lines = export(UserDataFormat.NDJSON).split("\n");
+
+        // Assert
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asText()).isEqualTo(alice.id().toString());
+        assertThat(first.get("username").asText()).isEqualTo("alice");
+        assertThat(first.get("enabled").asBoolean()).isTrue();
+        assertThat(first.get("roles")).extracting(JsonNode::asText).containsExactly("ROLE_ADMIN", "ROLE_USER");
+        assertThat(first.get("createdAt").asText()).isEqualTo(CREATED.toString());
+        assertThat(first.has("password")).isFalse();
+        assertThat(first.has("updatedAt")).isFalse();
+        assertThat(objectMapper.readTree(lines[1]).get("roles")).isEmpty();
+    }
+
+    @Test
+    void exportUsers_AsCsv_ShouldQuoteFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        // Arrange
+        UserView plain = view("plain", "Plain", "ROLE_USER");
+        UserView tricky = view("tricky", "Smith, \"Jr\"\nII", "ROLE_ADMIN,ROLE_USER");
+        when(userRepository.findViewsInCreationOrder(isNull(), eq(CHUNK_SIZE))).thenReturn(List.of(plain, tricky));
+        when(userRepository.findViewsInCreationOrder(tricky, CHUNK_SIZE)).thenReturn(List.of());
+
+        // Act
+        String csv = export(UserDataFormat.CSV);
+
+        // Assert
+        assertThat(csv).startsWith("id,username,email,firstName,lastName,enabled,roles,createdAt,updatedAt\n");
+        assertThat(csv).contains(plain.id() + ",plain,plain@test.com,Plain,Test,true,ROLE_USER," + CREATED + ",\n");
+        assertThat(csv).contains(tricky.id() + ",tricky,tricky@test.com,\"Smith, \"\"Jr\"\"\nII\",Test,true,"
+                + "\"ROLE_ADMIN,ROLE_USER\"," + CREATED + ",\n");
+    }
+
+    @Test
+    void exportUsers_ShouldWriteEachChunkBeforeReadingTheNext() throws IOException {
+        // Arrange
+        UserView a = view("a", "A", "ROLE_USER");
+        UserView b = view("b", "B", "ROLE_USER");
+        UserView c = view("c", "C", "ROLE_USER");
+        List<Integer> linesWrittenAtEachRead = new ArrayList<>();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        when(userRepository.findViewsInCreationOrder(any(), eq(CHUNK_SIZE))).thenAnswer(invocation -> {
+            linesWrittenAtEachRead.add(output.toString(StandardCharsets.UTF_8).split("\n", -1).length - 1);
+            UserView after = invocation.getArgument(0);
+            if (after == null) {
+                return List.of(a, b);
+            }
+            return after.equals(b) ? List.of(c) : List.of();
+        });
+
+        // Act
+        exportService.exportUsers(UserDataFormat.NDJSON, output);
+
+        // Assert: a short chunk ends the export without another read
+        assertThat(linesWrittenAtEachRead).containsExactly(0, 2);
+        assertThat(output.toString(StandardCharsets.UTF_8).split("\n")).hasSize(3);
+        verify(userRepository).findViewsInCreationOrder(b, CHUNK_SIZE);
+        verify(userRepository, times(2)).findViewsInCreationOrder(any(), eq(CHUNK_SIZE));
+    }
+
+    @Test
+    void exportUsers_WhenTheClientGoesAway_ShouldStopReading() {
+        // Arrange
+        UserView a = view("a", "A", "ROLE_USER");
+        UserView b = view("b", "B", "ROLE_USER");
+        when(userRepository.findViewsInCreationOrder(isNull(), eq(CHUNK_SIZE))).thenReturn(List.of(a, b));
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // Act & Assert
+        assertThatThrownBy(() -> exportService.exportUsers(UserDataFormat.CSV, broken))
+                .isInstanceOf(IOException.class);
+        verify(userRepository, times(1)).findViewsInCreationOrder(any(), anyInt());
+    }
+
+    private String export(UserDataFormat format) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exportService.exportUsers(format, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static UserView view(String username, String firstName, String roles) {
+        return new UserView(UUID.randomUUID(), username, username + "@test.com", firstName, "Test", true, roles,
+                CREATED, null, 0L, 0);
+    }
+}
@@ -0,0 +1,262 @@
+package com.portfolio.usermanagement.unit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.usermanagement.entity.Role;
+import com.portfolio.usermanagement.entity.User;
+import com.portfolio.usermanagement.event.UserChangedEvent;
+import com.portfolio.usermanagement.exception.BadRequestException;
+import com.portfolio.usermanagement.monitoring.MetricsService;
+import com.portfolio.usermanagement.repository.UserRepository;
+import com.portfolio.usermanagement.security.BoundedPasswordEncoder;
+import com.portfolio.usermanagement.security.RoleCatalog;
+import com.portfolio.usermanagement.service.impl.UserDataFormat;
+import com.portfolio.usermanagement.service.impl.UserImportServiceImpl;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceTest {
+
+    private static final String PASSWORD = "Password123!";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RoleCatalog roleCatalog;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private BoundedPasswordEncoder boundedEncoder;
+
+    private UserImportServiceImpl importService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(roleCatalog.idOf(Role.RoleName.ROLE_USER)).thenReturn(2L);
+        lenient().when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> "hashed:" + invocation.getArgument(0));
+
+        boundedEncoder = new BoundedPasswordEncoder(passwordEncoder, 2, 100, Duration.ofSeconds(10));
+        importService = importService(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        boundedEncoder.shutdown();
+    }
+
+    @Test
+    void importUsers_ShouldInsertInBatchesAndReportEachRow() throws Exception {
+        // Arrange
+        List<List<User>> batches = new ArrayList<>();
+        when(userRepository.insertAllIgnoringConflicts(anyList(), eq(2L))).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            batches.add(List.copyOf(users));
+            return users.stream()
+                    .map(User::getUsername)
+                    .filter(username -> !username.equals("taken"))
+                    .collect(Collectors.toSet());
+        });
+        String input = String.join("\n",
+                row("alice", "alice@example.com"),
+                "{not json",
+                row("bob", "bob@example.com"),
+                "",
+                row("taken", "taken@example.com"),
+                row("x", "x@example.com"));
+
+        // Act
+        List<JsonNode> results = runImport(input, UserDataFormat.NDJSON);
+
+        // Assert
+        assertThat(results).extracting(node -> node.get("line").asLong() + ":" + node.get("status").asText())
+                .containsExactlyInAnyOrder("1:CREATED", "2:INVALID", "3:CREATED", "5:DUPLICATE", "6:INVALID");
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0)).extracting(User::getPassword).containsOnly("hashed:" + PASSWORD);
+        assertThat(batches.get(0)).extracting(User::getCreatedBy).containsOnly("admin");
+        verify(metricsService).recordUserImport("CREATED", 2L);
+        verify(eventPublisher, times(2)).publishEvent(any(UserChangedEvent.class));
+    }
+
+    @Test
+    void importUsers_ShouldReportRepeatsWithinBatchWithoutSendingThem() throws Exception {
+        // Arrange
+        when(userRepository.insertAllIgnoringConflicts(anyList(), eq(2L))).thenReturn(Set.of("alice"));
+        String input = row("alice", "alice@example.com") + "\n" + row("alice2", "ALICE@example.com");
+
+        // Act
+        List<JsonNode> results = runImport(input, UserDataFormat.NDJSON);
+
+        // Assert
+        assertThat(results).extracting(node -> node.get("username").asText() + ":" + node.get("status").asText())
+                .containsExactlyInAnyOrder("alice:CREATED", "alice2:DUPLICATE");
+        verify(userRepository).insertAllIgnoringConflicts(argThat(users -> users.size() == 1), eq(2L));
+    }
+
+    @Test
+    void importUsers_ShouldReadCsvColumnsByHeader() throws Exception {
+        // Arrange
+        when(userRepository.insertAllIgnoringConflicts(anyList(), eq(2L))).thenReturn(Set.of("carol"));
+        String input = "email,first_name,last_name,username,password\n"
+                + "carol@example.com,\"Carol\",\"O'Brien\",carol,\"" + PASSWORD + "\"\n";
+
+        // Act
+        List<JsonNode> results = runImport(input, UserDataFormat.CSV);
+
+        // Assert
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).get("line").asLong()).isEqualTo(2);
+        assertThat(results.get(0).get("status").asText()).isEqualTo("CREATED");
+    }
+
+    @Test
+    void importUsers_ShouldRejectCsvWithoutRequiredColumns() {
+        assertThatThrownBy(() -> runImport("username,email\n", UserDataFormat.CSV))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("password");
+        verify(userRepository, never()).insertAllIgnoringConflicts(any(), any());
+    }
+
+    @Test
+    void importUsers_ShouldReportOverlongLinesAndKeepReading() throws Exception {
+        // Arrange
+        when(userRepository.insertAllIgnoringConflicts(anyList(), eq(2L))).thenReturn(Set.of("alice", "bob"));
+        String input = row("alice", "alice@example.com") + "\r\n"
+                + "{\"username\":\"" + "x".repeat(100_000) + "\"}\r\n"
+                + row("bob", "bob@example.com") + "\r\n";
+
+        // Act
+        List<JsonNode> results = runImport(input, UserDataFormat.NDJSON);
+
+        // Assert
+        assertThat(results).extracting(node -> node.get("line").asLong() + ":" + node.get("status").asText())
+                .containsExactlyInAnyOrder("1:CREATED", "2:INVALID", "3:CREATED");
+        assertThat(results).filteredOn(node -> node.get("line").asLong() == 2)
+                .extracting(node -> node.get("message").asText())
+                .containsExactly("Line is longer than 8192 characters");
+    }
+
+    @Test
+    void importUsers_WhenABatchFails_ShouldEndTheReportWithAnErrorLine() throws Exception {
+        // Arrange
+        when(userRepository.insertAllIgnoringConflicts(anyList(), eq(2L)))
+                .thenReturn(Set.of("alice", "bob"))
+                .thenThrow(new IllegalStateException("connection lost"));
+        String input = String.join("\n",
+                row("alice", "alice@example.com"),
+                row("bob", "bob@example.com"),
+                row("carol", "carol@example.com"),
+                row("dave", "dave@example.com"),
+                row("erin", "erin@example.com"));
+
+        // Act
+        List<JsonNode> results = runImport(input, UserDataFormat.NDJSON);
+
+        // Assert
+        assertThat(results).extracting(node -> node.get("line").asLong() + ":" + node.get("status").asText())
+                .containsExactly("1:CREATED", "2:CREATED", "4:ERROR");
+        verify(metricsService).recordUserImport("ERROR", 1L);
+    }
+
+    @Test
+    void importUsers_ShouldLeaveLoginHashesAThreadWhileABatchIsHashed() throws Exception {
+        // Arrange: import hashes block until released, other hashes return at once
+        CountDownLatch importHashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            if (PASSWORD.equals(invocation.getArgument(0))) {
+                importHashing.countDown();
+                release.await();
+            }
+            return "hashed:" + invocation.getArgument(0);
+        });
+        when(userRepository.insertAllIgnoringConflicts(anyList(), eq(2L))).thenReturn(Set.of());
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            input.append(row("user" + i, "user" + i + "@example.com")).append('\n');
+        }
+        UserImportServiceImpl largeBatches = importService(100);
+        Thread importer = Thread.ofVirtual().start(() -> {
+            try {
+                largeBatches.importUsers(new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)),
+                        UserDataFormat.NDJSON, "admin", new ByteArrayOutputStream());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        assertThat(importHashing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act & Assert: 100 import hashes are waiting, yet a login hash gets a thread
+        assertTimeoutPreemptively(Duration.ofSeconds(2),
+                () -> assertThat(boundedEncoder.encode("login-password")).isEqualTo("hashed:login-password"));
+        release.countDown();
+        importer.join();
+    }
+
+    private UserImportServiceImpl importService(int batchSize) {
+        return new UserImportServiceImpl(userRepository, roleCatalog, boundedEncoder,
+                Validation.buildDefaultValidatorFactory().getValidator(), metricsService,
+                eventPublisher, transactionManager, objectMapper, batchSize);
+    }
+
+    private List<JsonNode> runImport(String input, UserDataFormat format) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        importService.importUsers(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), format, "admin", output);
+
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : output.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                results.add(objectMapper.readTree(line));
+            }
+        }
+        return results;
+    }
+
+    private static String row(String username, String email) {
+        return "{\"username\":\"" + username + "\",\"email\":\"" + email + "\",\"password\":\"" + PASSWORD
+                + "\",\"firstName\":\"Test\",\"lastName\":\"User\"}";
+    }
+}
@@ -0,0 +1,128 @@
+package com.portfolio.usermanagement.unit;
+
+import com.portfolio.usermanagement.repository.UserRepository;
+import com.portfolio.usermanagement.service.impl.UserPurgeServiceImpl;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserPurgeServiceTest {
+
+    private static final int BATCH_SIZE = 10;
+    private static final int MAX_BATCHES = 3;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private HikariDataSource hikari;
+
+    @Mock
+    private HikariPoolMXBean pool;
+
+    private UserPurgeServiceImpl purgeService;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(true);
+        when(dataSource.unwrap(HikariDataSource.class)).thenReturn(hikari);
+        lenient().when(hikari.getHikariPoolMXBean()).thenReturn(pool);
+        purgeService = new UserPurgeServiceImpl(userRepository, dataSource, Duration.ofHours(1), BATCH_SIZE, MAX_BATCHES, 2);
+    }
+
+    @Test
+    void purgeDeletedUsers_WhenEveryBatchIsFull_ShouldStopAtMaxBatches() {
+        // Arrange
+        when(userRepository.purgeDeleted(any(LocalDateTime.class), eq(BATCH_SIZE))).thenReturn(BATCH_SIZE);
+
+        // Act
+        purgeService.purgeDeletedUsers();
+
+        // Assert
+        verify(userRepository, times(MAX_BATCHES)).purgeDeleted(any(LocalDateTime.class), eq(BATCH_SIZE));
+    }
+
+    @Test
+    void purgeDeletedUsers_WhenABatchIsShort_ShouldStopThere() {
+        // Arrange
+        when(userRepository.purgeDeleted(any(LocalDateTime.class), eq(BATCH_SIZE))).thenReturn(BATCH_SIZE, 4);
+
+        // Act
+        purgeService.purgeDeletedUsers();
+
+        // Assert
+        verify(userRepository, times(2)).purgeDeleted(any(LocalDateTime.class), eq(BATCH_SIZE));
+    }
+
+    @Test
+    void purgeDeletedUsers_ShouldOnlyPurgeDeletionsOlderThanTheRetention() {
+        // Arrange
+        when(userRepository.purgeDeleted(any(LocalDateTime.class), eq(BATCH_SIZE))).thenReturn(0);
+        LocalDateTime before = LocalDateTime.now().minusHours(1);
+
+        // Act
+        purgeService.purgeDeletedUsers();
+
+        // Assert
+        verify(userRepository).purgeDeleted(argThat(cutOff -> !cutOff.isBefore(before)
+                && !cutOff.isAfter(LocalDateTime.now().minusHours(1))), eq(BATCH_SIZE));
+    }
+
+    @Test
+    void purgeDeletedUsers_WhenRequestsWaitForConnections_ShouldNotPurge() {
+        // Arrange
+        when(pool.getThreadsAwaitingConnection()).thenReturn(1);
+
+        // Act
+        purgeService.purgeDeletedUsers();
+
+        // Assert
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void purgeDeletedUsers_WhenThePoolGetsBusy_ShouldStopBetweenBatches() {
+        // Arrange
+        when(pool.getThreadsAwaitingConnection()).thenReturn(0);
+        when(pool.getActiveConnections()).thenReturn(1, 3);
+        when(userRepository.purgeDeleted(any(LocalDateTime.class), eq(BATCH_SIZE))).thenReturn(BATCH_SIZE);
+
+        // Act
+        purgeService.purgeDeletedUsers();
+
+        // Assert
+        verify(userRepository, times(1)).purgeDeleted(any(LocalDateTime.class), eq(BATCH_SIZE));
+    }
+
+    @Test
+    void purgeDeletedUsers_WithoutAHikariPool_ShouldPurgeWithoutLoadChecks() throws SQLException {
+        // Arrange
+        when(dataSource.isWrapperFor(HikariDataSource.class)).thenReturn(false);
+        UserPurgeServiceImpl withoutPool = new UserPurgeServiceImpl(userRepository, dataSource, Duration.ofHours(1),
+                BATCH_SIZE, MAX_BATCHES, 2);
+        when(userRepository.purgeDeleted(any(LocalDateTime.class), eq(BATCH_SIZE))).thenReturn(1);
+
+        // Act
+        withoutPool.purgeDeletedUsers();
+
+        // Assert
+        verify(userRepository, times(1)).purgeDeleted(any(LocalDateTime.class), eq(BATCH_SIZE));
+    }
+}
@@ -0,0 +1,46 @@
+package com.portfolio.usermanagement.unit;
+
+import com.portfolio.usermanagement.entity.Role;
+import com.portfolio.usermanagement.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserRoleMaskTest {
+
+    @Test
+    void hasRole_ShouldReadTheMaskNotTheRoleCollection() {
+        // Arrange: roles loaded, mask not (as for a row written before its trigger ran)
+        Set<Role> roles = new HashSet<>(Set.of(Role.builder().id(2L).name(Role.RoleName.ROLE_ADMIN).build()));
+        User unmasked = User.builder().username("unmasked").roles(roles).build();
+        User masked = User.builder().username("masked").roleMask(Role.RoleName.ROLE_ADMIN.bit()).build();
+
+        // Act & Assert
+        assertThat(unmasked.hasRole(Role.RoleName.ROLE_ADMIN)).isFalse();
+        assertThat(masked.hasRole(Role.RoleName.ROLE_ADMIN)).isTrue();
+        assertThat(masked.isAdmin()).isTrue();
+        assertThat(masked.hasRole(Role.RoleName.ROLE_USER)).isFalse();
+    }
+
+    @Test
+    void addAndRemoveRole_ShouldKeepTheMaskInStep() {
+        // Arrange
+        User user = User.builder().username("alice").build();
+        Role admin = Role.builder().id(2L).name(Role.RoleName.ROLE_ADMIN).build();
+        Role moderator = Role.builder().id(3L).name(Role.RoleName.ROLE_MODERATOR).build();
+
+        // Act
+        user.addRole(admin);
+        user.addRole(moderator);
+        user.removeRole(admin);
+
+        // Assert
+        assertThat(user.getRoleMask()).isEqualTo(Role.RoleName.ROLE_MODERATOR.bit());
+        assertThat(user.hasRole(Role.RoleName.ROLE_MODERATOR)).isTrue();
+        assertThat(user.hasRole(Role.RoleName.ROLE_ADMIN)).isFalse();
+        assertThat(user.getRoles()).containsExactly(moderator);
+    }
+}
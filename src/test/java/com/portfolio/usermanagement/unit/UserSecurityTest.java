@@ -0,0 +1,44 @@
+package com.portfolio.usermanagement.unit;
+
+import com.portfolio.usermanagement.repository.UserRepository;
+import com.portfolio.usermanagement.security.UserPrincipal;
+import com.portfolio.usermanagement.security.UserSecurity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class UserSecurityTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private UserSecurity userSecurity;
+
+    @Test
+    void isOwner_WithUserPrincipal_ShouldCompareIdsWithoutLookup() {
+        // Arrange
+        UUID id = UUID.randomUUID();
+        UserPrincipal principal = new UserPrincipal(id, "owner", "hashed", true, true, true, true,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), 0);
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                principal, null, principal.getAuthorities());
+
+        // Act & Assert
+        assertThat(userSecurity.isOwner(id, authentication)).isTrue();
+        assertThat(userSecurity.isOwner(UUID.randomUUID(), authentication)).isFalse();
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -1,10 +1,22 @@
 package com.portfolio.usermanagement.unit;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.usermanagement.dto.request.UserCursor;
+import com.portfolio.usermanagement.dto.request.UserETag;
+import com.portfolio.usermanagement.dto.request.UserQueryRequest;
+import com.portfolio.usermanagement.dto.response.CursorPage;
 import com.portfolio.usermanagement.dto.response.UserResponse;
 import com.portfolio.usermanagement.entity.Role;
 import com.portfolio.usermanagement.entity.User;
+import com.portfolio.usermanagement.event.UserChangedEvent;
+import com.portfolio.usermanagement.exception.BadRequestException;
+import com.portfolio.usermanagement.exception.ConflictException;
+import com.portfolio.usermanagement.exception.PreconditionFailedException;
 import com.portfolio.usermanagement.exception.ResourceNotFoundException;
 import com.portfolio.usermanagement.repository.UserRepository;
+import com.portfolio.usermanagement.repository.projection.DeletedUser;
+import com.portfolio.usermanagement.repository.projection.PatchedUser;
+import com.portfolio.usermanagement.repository.projection.UserView;
 import com.portfolio.usermanagement.service.impl.UserServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,8 +24,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -21,6 +46,8 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,9 +56,17 @@ class UserServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AuditorAware<String> auditorProvider;
+
     @InjectMocks
     private UserServiceImpl userService;
 
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
     private User testUser;
     private UUID testUserId;
 
@@ -61,7 +96,8 @@ class UserServiceTest {
     @Test
     void getUserById_WhenUserExists_ShouldReturnUserResponse() {
         // Arrange
-        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+        when(userRepository.findViewById(testUserId)).thenReturn(Optional.of(new UserView(
+                testUserId, "testuser", "test@example.com", "Test", "User", true, "ROLE_USER", null, null, 0L, 1)));
 
         // Act
         UserResponse result = userService.getUserById(testUserId);
@@ -74,22 +110,23 @@ class UserServiceTest {
         assertThat(result.getFirstName()).isEqualTo("Test");
         assertThat(result.getLastName()).isEqualTo("User");
         assertThat(result.getEnabled()).isTrue();
+        assertThat(result.getRoles()).containsExactly("ROLE_USER");
 
-        verify(userRepository, times(1)).findById(testUserId);
+        verify(userRepository, times(1)).findViewById(testUserId);
     }
 
     @Test
     void getUserById_WhenUserDoesNotExist_ShouldThrowResourceNotFoundException() {
         // Arrange
         UUID nonExistentId = UUID.randomUUID();
-        when(userRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+        when(userRepository.findViewById(nonExistentId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThatThrownBy(() -> userService.getUserById(nonExistentId))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessageContaining("User not found");
 
-        verify(userRepository, times(1)).findById(nonExistentId);
+        verify(userRepository, times(1)).findViewById(nonExistentId);
     }
 
     @Test
@@ -119,16 +156,248 @@ class UserServiceTest {
     }
 
     @Test
-    void deleteUser_WhenUserExists_ShouldDeleteUser() {
+    void deleteUser_WhenUserExists_ShouldSoftDeleteWithoutLoading() {
         // Arrange
-        when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
-        doNothing().when(userRepository).delete(any(User.class));
+        when(auditorProvider.getCurrentAuditor()).thenReturn(Optional.of("admin"));
+        when(userRepository.markDeleted(eq(testUserId), isNull(), any(LocalDateTime.class), eq("admin")))
+                .thenReturn(Optional.of(new DeletedUser(testUserId, "testuser", "test@example.com")));
 
         // Act
         userService.deleteUser(testUserId);
 
         // Assert
-        verify(userRepository, times(1)).findById(testUserId);
-        verify(userRepository, times(1)).delete(testUser);
+        verify(userRepository, never()).findById(any());
+        verify(userRepository, never()).delete(any(User.class));
+        verify(eventPublisher).publishEvent(UserChangedEvent.deleted(testUserId, "testuser", "test@example.com"));
+    }
+
+    @Test
+    void getUsersAfter_WhenMoreRowsExist_ShouldReturnCursorOfLastRow() {
+        // Arrange
+        UserView newer = view(testUserId, "testuser", LocalDateTime.of(2024, 1, 2, 0, 0));
+        UserView older = view(UUID.randomUUID(), "older", LocalDateTime.of(2024, 1, 1, 0, 0));
+        when(userRepository.findIdsPageAfter(UserCursor.START.createdAt(), UserCursor.START.id(), 2))
+                .thenReturn(List.of(newer.id(), older.id()));
+        when(userRepository.findViewsByIdIn(List.of(newer.id(), older.id()))).thenReturn(List.of(older, newer));
+
+        // Act
+        CursorPage<UserResponse> result = userService.getUsersAfter(UserCursor.START, 1, false);
+
+        // Assert
+        assertThat(result.getContent()).extracting(UserResponse::getUsername).containsExactly("testuser");
+        assertThat(UserCursor.decode(result.getNext()))
+                .isEqualTo(new UserCursor(newer.createdAt(), testUserId));
+        verify(userRepository, never()).estimateCount();
+    }
+
+    @Test
+    void searchUsers_ShouldTreatWildcardsInTermLiterally() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 20);
+        when(userRepository.searchUserIds("%50!%!_off%", "50%_off", pageable))
+                .thenReturn(new PageImpl<>(List.of(testUserId), pageable, 1));
+        when(userRepository.findViewsByIdIn(List.of(testUserId)))
+                .thenReturn(List.of(view(testUserId, "testuser", LocalDateTime.now())));
+
+        // Act
+        Page<UserResponse> result = userService.searchUsers(" 50%_OFF ", pageable);
+
+        // Assert
+        assertThat(result.getContent()).extracting(UserResponse::getUsername).containsExactly("testuser");
+    }
+
+    @Test
+    void queryUsers_WhenOnlyBroadFiltersGiven_ShouldRejectWithoutQuerying() {
+        // Arrange
+        UserQueryRequest filter = UserQueryRequest.builder().enabled(true).role("ADMIN").namePrefix("a").build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.queryUsers(filter, PageRequest.of(0, 20)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("emailDomain");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void queryUsers_WithOnlyOneEndOfTheCreationRange_ShouldRejectWithoutQuerying() {
+        // Arrange
+        UserQueryRequest filter = UserQueryRequest.builder().createdTo(LocalDateTime.of(2024, 1, 1, 0, 0)).build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.queryUsers(filter, PageRequest.of(0, 20)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("createdFrom and createdTo");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void queryUsers_WithACreationRangeWiderThanTheMaximum_ShouldRejectWithoutQuerying() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2020, 1, 1, 0, 0);
+        UserQueryRequest filter = UserQueryRequest.builder().createdFrom(from).createdTo(from.plusDays(32)).build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.queryUsers(filter, PageRequest.of(0, 20)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("31 days");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void queryUsers_WithAReversedCreationRange_ShouldThrowBadRequestException() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2024, 2, 1, 0, 0);
+        UserQueryRequest filter = UserQueryRequest.builder().createdFrom(from).createdTo(from.minusDays(1)).build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.queryUsers(filter, PageRequest.of(0, 20)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("createdFrom must not be after createdTo");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void queryUsers_WithABoundedCreationRange_ShouldRunSpecificationQuery() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 20);
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        UserQueryRequest filter = UserQueryRequest.builder().createdFrom(from).createdTo(from.plusDays(31)).build();
+        when(userRepository.findIds(any(Specification.class), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(), pageable, false));
+
+        // Act
+        Slice<UserResponse> result = userService.queryUsers(filter, pageable);
+
+        // Assert
+        assertThat(result.getContent()).isEmpty();
+        assertThat(result.hasNext()).isFalse();
+    }
+
+    @Test
+    void queryUsers_WhenRoleIsUnknown_ShouldThrowBadRequestException() {
+        // Arrange
+        UserQueryRequest filter = UserQueryRequest.builder().emailDomain("example.com").role("ROOT").build();
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.queryUsers(filter, PageRequest.of(0, 20)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Unknown role: ROOT");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void queryUsers_WithSelectiveFilter_ShouldRunSpecificationQuery() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 20);
+        UserQueryRequest filter = UserQueryRequest.builder().emailDomain("Example.com").enabled(true).build();
+        UUID otherId = UUID.randomUUID();
+        when(userRepository.findIds(any(Specification.class), eq(pageable)))
+                .thenReturn(new SliceImpl<>(List.of(otherId, testUserId), pageable, true));
+        when(userRepository.findViewsByIdIn(List.of(otherId, testUserId))).thenReturn(List.of(
+                view(testUserId, "testuser", LocalDateTime.now()), view(otherId, "other", LocalDateTime.now())));
+
+        // Act
+        Slice<UserResponse> result = userService.queryUsers(filter, pageable);
+
+        // Assert
+        assertThat(result.hasNext()).isTrue();
+        assertThat(result.getContent()).extracting(UserResponse::getUsername).containsExactly("other", "testuser");
+        verify(userRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void patchUser_ShouldWriteOnlyPresentFieldsNormalized() throws Exception {
+        // Arrange
+        UserView patched = new UserView(testUserId, "testuser", "new@example.com", "Test", "Smith", true,
+                "ROLE_USER", LocalDateTime.now(), LocalDateTime.now(), 4L, 1);
+        when(auditorProvider.getCurrentAuditor()).thenReturn(Optional.of("testuser"));
+        when(userRepository.updateColumns(eq(testUserId), any(), isNull(), any(LocalDateTime.class), eq("testuser")))
+                .thenReturn(Optional.of(new PatchedUser(patched, "test@example.com")));
+
+        // Act
+        UserView result = userService.patchUser(testUserId,
+                objectMapper.readTree("{\"email\":\" New@Example.com \",\"lastName\":\"smith\"}"), null);
+
+        // Assert
+        assertThat(result.email()).isEqualTo("new@example.com");
+        verify(userRepository).updateColumns(eq(testUserId),
+                eq(Map.of("email", "new@example.com", "last_name", "Smith")), isNull(), any(LocalDateTime.class), eq("testuser"));
+        verify(eventPublisher).publishEvent(UserChangedEvent.updated(testUserId, "testuser", "test@example.com",
+                "testuser", "new@example.com"));
+    }
+
+    @Test
+    void patchUser_WhenFieldInvalidOrNotPatchable_ShouldRejectWithoutWriting() {
+        assertThatThrownBy(() -> userService.patchUser(testUserId, objectMapper.readTree("{\"email\":\"nope\"}"), null))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Invalid email format");
+        assertThatThrownBy(() -> userService.patchUser(testUserId, objectMapper.readTree("{\"firstName\":null}"), null))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("firstName cannot be removed");
+        assertThatThrownBy(() -> userService.patchUser(testUserId, objectMapper.readTree("{\"username\":\"other\"}"), null))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Field cannot be patched: username");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void patchUser_WhenEmailTaken_ShouldThrowConflictException() throws Exception {
+        // Arrange
+        when(auditorProvider.getCurrentAuditor()).thenReturn(Optional.empty());
+        when(userRepository.updateColumns(eq(testUserId), any(), isNull(), any(LocalDateTime.class), eq("system")))
+                .thenThrow(new DuplicateKeyException("users_email_key"));
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.patchUser(testUserId, objectMapper.readTree("{\"email\":\"taken@example.com\"}"), null))
+                .isInstanceOf(ConflictException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void patchUser_WhenIfMatchIsStale_ShouldThrowPreconditionFailed() throws Exception {
+        // Arrange
+        UserETag stale = new UserETag(3L, 1);
+        when(auditorProvider.getCurrentAuditor()).thenReturn(Optional.empty());
+        when(userRepository.updateColumns(eq(testUserId), any(), eq(stale), any(LocalDateTime.class), eq("system")))
+                .thenReturn(Optional.empty());
+        when(userRepository.existsById(testUserId)).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.patchUser(testUserId, objectMapper.readTree("{\"firstName\":\"Tess\"}"), stale))
+                .isInstanceOf(PreconditionFailedException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteUser_WhenIfMatchIsStale_ShouldNotDelete() {
+        // Arrange
+        UserETag stale = new UserETag(4L, testUser.getRoleMask());
+        when(auditorProvider.getCurrentAuditor()).thenReturn(Optional.empty());
+        when(userRepository.markDeleted(eq(testUserId), eq(stale), any(LocalDateTime.class), eq("system")))
+                .thenReturn(Optional.empty());
+        when(userRepository.existsById(testUserId)).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.deleteUser(testUserId, stale))
+                .isInstanceOf(PreconditionFailedException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deleteUser_WhenUserIsMissingOrAlreadyDeleted_ShouldThrowNotFound() {
+        // Arrange
+        when(auditorProvider.getCurrentAuditor()).thenReturn(Optional.empty());
+        when(userRepository.markDeleted(eq(testUserId), isNull(), any(LocalDateTime.class), eq("system")))
+                .thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThatThrownBy(() -> userService.deleteUser(testUserId))
+                .isInstanceOf(ResourceNotFoundException.class);
+        verify(userRepository, never()).existsById(any());
+    }
+
+    private static UserView view(UUID id, String username, LocalDateTime createdAt) {
+        return new UserView(id, username, username + "@example.com", "Test", "User", true, "ROLE_USER",
+                createdAt, createdAt, 0L, 1);
     }
 }